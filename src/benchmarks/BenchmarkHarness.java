@@ -0,0 +1,140 @@
+package src.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BenchmarkHarness {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final long warmupMillis;
+    private final long measureMillis;
+    private volatile long sink;
+
+    public BenchmarkHarness(long warmupMillis, long measureMillis) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public Result measure(String name, int threads, Operation operation) throws InterruptedException {
+        run(threads, operation, warmupMillis);
+        Sample sample = run(threads, operation, measureMillis);
+        return new Result(name, threads, sample.operations, sample.elapsedNanos, sample.allocatedBytes);
+    }
+
+    private Sample run(int threads, Operation operation, long durationMillis) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] operations = new long[threads];
+        long[] allocated = new long[threads];
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int threadIndex = t;
+            workers[t] = new Thread(() -> {
+                long localSink = 0;
+                long count = 0;
+                awaitQuietly(start);
+                long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                while (running.get()) {
+                    localSink += operation.run(threadIndex, count++);
+                }
+                allocated[threadIndex] = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                operations[threadIndex] = count;
+                sink += localSink;
+            }, "bench-" + t);
+            workers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long totalOperations = 0;
+        long totalAllocated = 0;
+        for (int t = 0; t < threads; t++) {
+            totalOperations += operations[t];
+            totalAllocated += allocated[t];
+        }
+        return new Sample(totalOperations, elapsedNanos, totalAllocated);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public interface Operation {
+        long run(int threadIndex, long iteration);
+    }
+
+    private static class Sample {
+        private final long operations;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        Sample(long operations, long elapsedNanos, long allocatedBytes) {
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    public static class Result {
+        private final String name;
+        private final int threads;
+        private final long operations;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        public Result(String name, int threads, long operations, long elapsedNanos, long allocatedBytes) {
+            this.name = name;
+            this.threads = threads;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getThroughput() {
+            return operations * 1e9 / elapsedNanos;
+        }
+
+        public double getNanosPerOperation() {
+            return operations == 0 ? Double.NaN : (double) elapsedNanos * threads / operations;
+        }
+
+        public double getBytesPerOperation() {
+            return operations == 0 ? Double.NaN : (double) allocatedBytes / operations;
+        }
+
+        public double getAllocationRateMegabytes() {
+            return allocatedBytes * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-66s %3d %14.1f %14.1f %12.1f %10.1f",
+                    name, threads, getThroughput(), getNanosPerOperation(),
+                    getBytesPerOperation(), getAllocationRateMegabytes());
+        }
+
+        public static String header() {
+            return String.format("%-66s %3s %14s %14s %12s %10s",
+                    "Benchmark", "Thr", "ops/s", "ns/op", "B/op", "MB/s");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package src.benchmarks;
+
+import src.models.gates.EntryExitGate;
+import src.models.parking.AvailableSpotIndex;
+import src.models.parking.ParkingSpot;
+import src.models.parking.SpotQuery;
+import src.models.parking.Ticket;
+import src.models.requests.EntryRequest;
+import src.models.requests.ExitRequest;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.allocation.PreferredSpotTypeStrategy;
+import src.strategies.allocation.SlotAllocationStrategy;
+import src.strategies.pricing.DynamicPricingStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import src.strategies.pricing.PricingRules;
+import src.strategies.pricing.PricingStrategy;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+public class BenchmarkRunner {
+    private static final int VEHICLES_PER_THREAD = 1024;
+    private static final int BATCH_SIZE = 64;
+
+    private final BenchmarkHarness harness;
+    private final Pattern filter;
+
+    public BenchmarkRunner(BenchmarkHarness harness, Pattern filter) {
+        this.harness = harness;
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = { 100, 1_000, 10_000, 100_000 };
+        double[] occupancies = { 0.0, 0.5, 0.9 };
+        int[] threadCounts = { 1, 4 };
+        long warmupMillis = 300;
+        long measureMillis = 700;
+        Pattern filter = Pattern.compile(".*");
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes":
+                    sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--occupancy":
+                    occupancies = Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray();
+                    break;
+                case "--threads":
+                    threadCounts = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--warmup":
+                    warmupMillis = Long.parseLong(value);
+                    break;
+                case "--measure":
+                    measureMillis = Long.parseLong(value);
+                    break;
+                case "--filter":
+                    filter = Pattern.compile(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(new BenchmarkHarness(warmupMillis, measureMillis), filter);
+        System.out.println(BenchmarkHarness.Result.header());
+        for (int size : sizes) {
+            for (double occupancy : occupancies) {
+                for (int threads : threadCounts) {
+                    runner.runSuite(size, occupancy, threads);
+                }
+            }
+        }
+    }
+
+    private void runSuite(int size, double occupancy, int threads) throws InterruptedException {
+        String params = String.format("[size=%d,occ=%.1f]", size, occupancy);
+
+        for (boolean instrumented : new boolean[] { true, false }) {
+            String name = "parkVehicle+exitVehicle" + (instrumented ? "" : "[metrics=off]");
+            if (!matches(name)) {
+                continue;
+            }
+            LotFixture fixture = new LotFixture(size, occupancy);
+            ParkingLotService service = fixture.getService();
+            if (!instrumented) {
+                service.setMetrics(null);
+            }
+            Vehicle[][] vehicles = new Vehicle[threads][];
+            for (int t = 0; t < threads; t++) {
+                vehicles[t] = LotFixture.vehicles("T" + t, VEHICLES_PER_THREAD);
+            }
+            report(name + params, threads, (threadIndex, iteration) -> {
+                Vehicle vehicle = vehicles[threadIndex][(int) (iteration % VEHICLES_PER_THREAD)];
+                Ticket ticket = service.parkVehicle(vehicle, LotFixture.GATE_ID).orElse(null);
+                if (ticket == null) {
+                    return 0;
+                }
+                service.exitVehicle(ticket.getTicketId(), LotFixture.GATE_ID);
+                return 1;
+            });
+        }
+
+        if (matches("parkVehicles+exitVehicles")) {
+            LotFixture fixture = new LotFixture(size, occupancy);
+            ParkingLotService service = fixture.getService();
+            List<List<EntryRequest>> batches = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<EntryRequest> batch = new ArrayList<>();
+                for (Vehicle vehicle : LotFixture.vehicles("B" + t, BATCH_SIZE)) {
+                    batch.add(new EntryRequest(vehicle, LotFixture.GATE_ID));
+                }
+                batches.add(batch);
+            }
+            report("parkVehicles+exitVehicles[batch=" + BATCH_SIZE + "]" + params, threads,
+                    (threadIndex, iteration) -> {
+                        List<ExitRequest> exits = new ArrayList<>(BATCH_SIZE);
+                        for (Optional<Ticket> ticket : service.parkVehicles(batches.get(threadIndex))) {
+                            ticket.ifPresent(t -> exits.add(new ExitRequest(t.getTicketId(), LotFixture.GATE_ID)));
+                        }
+                        return service.exitVehicles(exits).size();
+                    });
+        }
+
+        if (!matches("getStatus") && !matches("getAvailableSpots") && !matches("findSpot")
+                && !matches("countSpots") && !matches("calculatePrice")) {
+            return;
+        }
+
+        LotFixture fixture = new LotFixture(size, occupancy);
+        ParkingLotService service = fixture.getService();
+
+        if (matches("getStatus")) {
+            report("getStatus" + params, threads,
+                    (threadIndex, iteration) -> service.getStatus().getActiveVehicles());
+        }
+        if (matches("getAvailableSpots")) {
+            report("getAvailableSpots" + params, threads,
+                    (threadIndex, iteration) -> service.getAvailableSpots().size());
+        }
+
+        List<ParkingSpot> availableSpots = service.getAvailableSpots();
+        AvailableSpotIndex index = fixture.buildIndex();
+        EntryExitGate gate = fixture.getGate();
+        Vehicle[] probes = LotFixture.vehicles("PROBE", 16);
+        for (SlotAllocationStrategy strategy : new SlotAllocationStrategy[] {
+                new NearestAvailableStrategy(), new PreferredSpotTypeStrategy() }) {
+            String name = strategy.getClass().getSimpleName();
+            if (matches("findSpot(list)/" + name)) {
+                report("findSpot(list)/" + name + params, threads, (threadIndex, iteration) ->
+                        strategy.findSpot(probes[(int) (iteration & 15)], availableSpots, gate).isPresent() ? 1 : 0);
+            }
+            if (matches("findSpot(index)/" + name)) {
+                report("findSpot(index)/" + name + params, threads, (threadIndex, iteration) ->
+                        strategy.findSpot(probes[(int) (iteration & 15)], index, gate).isPresent() ? 1 : 0);
+            }
+        }
+
+        SpotQuery fitsProbe = SpotQuery.available().withVehicle(probes[0]);
+        if (matches("countSpots")) {
+            report("countSpots[available,fits]" + params, threads,
+                    (threadIndex, iteration) -> service.countSpots(fitsProbe));
+        }
+        if (matches("findSpots")) {
+            SpotQuery onFloor = fitsProbe.withFloor(service.getOccupancyCounters().getFloors().last());
+            report("findSpots[available,floor,fits,limit=16]" + params, threads,
+                    (threadIndex, iteration) -> service.findSpots(onFloor, 16).size());
+        }
+
+        Ticket ticket = fixture.sampleTicket();
+        PricingRules rules = PricingRules.flat()
+                .withTimeWindow(LocalTime.of(7, 0), LocalTime.of(10, 0), 1.5)
+                .withTimeWindow(LocalTime.of(22, 0), LocalTime.of(6, 0), 0.75)
+                .withOccupancyTier(0.5, 1.2)
+                .withOccupancyTier(0.85, 1.5);
+        for (PricingStrategy strategy : new PricingStrategy[] { new HourlyPricingStrategy(),
+                new DynamicPricingStrategy(service.getOccupancyCounters(), rules) }) {
+            String name = strategy.getClass().getSimpleName();
+            if (matches("calculatePrice/" + name)) {
+                report("calculatePrice/" + name + params, threads,
+                        (threadIndex, iteration) -> (long) strategy.calculatePrice(ticket));
+            }
+        }
+    }
+
+    private boolean matches(String benchmark) {
+        return filter.matcher(benchmark).find();
+    }
+
+    private void report(String name, int threads, BenchmarkHarness.Operation operation)
+            throws InterruptedException {
+        System.out.println(harness.measure(name, threads, operation));
+    }
+}
@@ -0,0 +1,143 @@
+package src.benchmarks;
+
+import src.enums.VehicleType;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.factories.VehicleFactory;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.services.charging.ChargingScheduler;
+import src.services.charging.ChargingSession;
+import src.strategies.allocation.PreferredSpotTypeStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class ChargingSimulation {
+    private static final long MILLIS_PER_HOUR = 3_600_000;
+    private static final int FLOORS = 4;
+
+    public static void main(String[] args) {
+        int hours = args.length > 0 ? Integer.parseInt(args[0]) : 24 * 7;
+        double arrivalsPerHour = args.length > 1 ? Double.parseDouble(args[1]) : 12;
+        double powerBudgetKw = args.length > 2 ? Double.parseDouble(args[2]) : 300;
+
+        System.out.printf("Simulating %d h, %.1f EV arrivals/h, %d charging spots, %.0f kW site budget%n",
+                hours, arrivalsPerHour, FLOORS * 15, powerBudgetKw);
+        for (boolean moveCharged : new boolean[] { false, true }) {
+            long start = System.nanoTime();
+            Result result = run(hours, arrivalsPerHour, powerBudgetKw, moveCharged);
+            result.print(moveCharged ? "rotate charged" : "stay on charger", System.nanoTime() - start);
+        }
+    }
+
+    private static Result run(int hours, double arrivalsPerHour, double powerBudgetKw, boolean moveCharged) {
+        ParkingLotService service = ParkingLotService.newInstance("Charging Simulation");
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setAllocationStrategy(new PreferredSpotTypeStrategy());
+        service.setMetrics(null);
+        for (int floor = 1; floor <= FLOORS; floor++) {
+            service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, 200, 12, 20, 3));
+        }
+        service.addGates(GateFactory.createDefaultGates());
+
+        ChargingScheduler scheduler = new ChargingScheduler(service, powerBudgetKw);
+        scheduler.setMoveChargedVehicles(moveCharged);
+
+        Random random = new Random(42);
+        PriorityQueue<Departure> departures = new PriorityQueue<>(Comparator.comparingLong(d -> d.atMillis));
+        List<Long> waits = new ArrayList<>();
+        Result result = new Result(hours);
+        long end = hours * MILLIS_PER_HOUR;
+        long nextArrival = nextArrival(random, arrivalsPerHour, 0);
+        int arrivals = 0;
+
+        while (nextArrival < end || !departures.isEmpty()) {
+            if (!departures.isEmpty() && (departures.peek().atMillis <= nextArrival || nextArrival >= end)) {
+                Departure departure = departures.poll();
+                collect(scheduler.advance(departure.atMillis), waits, departure.atMillis);
+                Optional<ChargingSession> session = scheduler.findSession(departure.ticketId);
+                service.exitVehicle(departure.ticketId, LotFixture.GATE_ID);
+                session.ifPresent(ended -> waits.add(ended.getWaitMillis(departure.atMillis)));
+                continue;
+            }
+
+            long now = nextArrival;
+            nextArrival = nextArrival(random, arrivalsPerHour, now);
+            collect(scheduler.advance(now), waits, now);
+            VehicleType type = random.nextInt(5) == 0 ? VehicleType.ELECTRIC_BIKE : VehicleType.ELECTRIC_CAR;
+            double requestedKwh = type == VehicleType.ELECTRIC_BIKE ? 1 + random.nextDouble() * 2
+                    : 10 + random.nextDouble() * 40;
+            long dwellMillis = (long) ((2 + random.nextDouble() * 8) * MILLIS_PER_HOUR);
+            Vehicle vehicle = VehicleFactory.createVehicle(type, "EV-" + arrivals++, "Simulation", true);
+            result.arrivals++;
+            Optional<Ticket> ticket = service.parkVehicle(vehicle, LotFixture.GATE_ID);
+            if (!ticket.isPresent()) {
+                result.rejected++;
+                continue;
+            }
+            scheduler.plugIn(ticket.get(), requestedKwh, now);
+            departures.add(new Departure(now + dwellMillis, ticket.get().getTicketId()));
+        }
+
+        result.deliveredKwh = scheduler.getDeliveredKwh();
+        result.completed = scheduler.getCompletedSessions();
+        result.unplugged = scheduler.getUnpluggedSessions();
+        result.moved = scheduler.getMovedOffCharger();
+        result.averageWaitMillis = scheduler.getAverageWaitMillis();
+        Collections.sort(waits);
+        result.p95WaitMillis = waits.isEmpty() ? 0 : waits.get((int) (waits.size() * 0.95));
+        return result;
+    }
+
+    private static void collect(List<ChargingSession> completed, List<Long> waits, long nowMillis) {
+        for (ChargingSession session : completed) {
+            waits.add(session.getWaitMillis(nowMillis));
+        }
+    }
+
+    private static long nextArrival(Random random, double arrivalsPerHour, long nowMillis) {
+        return nowMillis + (long) (-Math.log(1 - random.nextDouble()) / arrivalsPerHour * MILLIS_PER_HOUR);
+    }
+
+    private static class Departure {
+        private final long atMillis;
+        private final String ticketId;
+
+        Departure(long atMillis, String ticketId) {
+            this.atMillis = atMillis;
+            this.ticketId = ticketId;
+        }
+    }
+
+    private static class Result {
+        private final int hours;
+        private int arrivals;
+        private int rejected;
+        private long completed;
+        private long unplugged;
+        private long moved;
+        private double deliveredKwh;
+        private double averageWaitMillis;
+        private long p95WaitMillis;
+
+        Result(int hours) {
+            this.hours = hours;
+        }
+
+        void print(String label, long elapsedNanos) {
+            System.out.printf("%-16s arrivals %,d, rejected %,d (%.1f%%), completed %,d, unplugged early %,d, "
+                    + "moved off charger %,d%n", label, arrivals, rejected, 100.0 * rejected / arrivals, completed,
+                    unplugged, moved);
+            System.out.printf("%-16s delivered %,.0f kWh (%.1f kWh/h), power wait avg %.1f min, p95 %.1f min, "
+                    + "simulated in %.0f ms%n", "", deliveredKwh, deliveredKwh / hours, averageWaitMillis / 60_000.0,
+                    p95WaitMillis / 60_000.0, elapsedNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package src.benchmarks;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import src.models.parking.ParkingSpot;
+import src.models.parking.SpotStatusListener;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.services.ParkingLotService.FloorStatus;
+import src.models.vehicles.Vehicle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ContentionStress {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int lotSize = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int operationsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        LotFixture fixture = new LotFixture(lotSize, 0.0);
+        ParkingLotService service = fixture.getService();
+        service.setMetrics(null);
+        Map<ParkingSpot, String> claims = new ConcurrentHashMap<>();
+        List<String> violations = new ArrayList<>();
+        AtomicLong parked = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<ArrayDeque<Ticket>> held = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        System.out.printf("%d threads x %,d operations against %d spots%n", threads, operationsPerThread, lotSize);
+        for (int t = 0; t < threads; t++) {
+            ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+            held.add(tickets);
+            String prefix = "CS" + t;
+            long seed = t;
+            Thread worker = new Thread(() -> {
+                Random random = new Random(seed);
+                awaitQuietly(start);
+                for (int i = 0; i < operationsPerThread; i++) {
+                    if (tickets.isEmpty() || random.nextInt(2) == 0) {
+                        Optional<Ticket> ticket = service.parkVehicle(LotFixture.vehicle(prefix, i),
+                                LotFixture.GATE_ID);
+                        if (!ticket.isPresent()) {
+                            rejected.incrementAndGet();
+                            continue;
+                        }
+                        parked.incrementAndGet();
+                        String owner = claims.putIfAbsent(ticket.get().getAssignedSpot(), ticket.get().getTicketId());
+                        if (owner != null) {
+                            violation(violations, "Spot " + ticket.get().getAssignedSpot().getSpotId()
+                                    + " issued to " + ticket.get().getTicketId() + " while held by " + owner);
+                        }
+                        tickets.add(ticket.get());
+                    } else {
+                        Ticket ticket = tickets.poll();
+                        claims.remove(ticket.getAssignedSpot(), ticket.getTicketId());
+                        if (!service.exitVehicle(ticket.getTicketId(), LotFixture.GATE_ID).isPresent()) {
+                            violation(violations, "Exit rejected for active ticket " + ticket.getTicketId());
+                        }
+                        if (service.exitVehicle(ticket.getTicketId(), LotFixture.GATE_ID).isPresent()) {
+                            violation(violations, "Ticket " + ticket.getTicketId() + " exited twice");
+                        }
+                    }
+                }
+            }, "contention-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        int active = 0;
+        for (ArrayDeque<Ticket> tickets : held) {
+            for (Ticket ticket : tickets) {
+                active++;
+                ParkingSpot spot = ticket.getAssignedSpot();
+                if (spot.getCurrentVehicle() != ticket.getVehicle()) {
+                    violation(violations, "Spot " + spot.getSpotId() + " does not hold the vehicle of "
+                            + ticket.getTicketId());
+                }
+                if (service.findActiveTicket(ticket.getTicketId()).orElse(null) != ticket) {
+                    violation(violations, "Ticket " + ticket.getTicketId() + " is not active");
+                }
+            }
+        }
+        int occupied = 0;
+        for (FloorStatus floor : service.getStatus().getFloors().values()) {
+            occupied += floor.getOccupiedSpots();
+        }
+        if (claims.size() != active || occupied != active || service.getStatus().getActiveVehicles() != active) {
+            violation(violations, String.format("Counts disagree: held %d, claimed %d, occupied %d, active %d",
+                    active, claims.size(), occupied, service.getStatus().getActiveVehicles()));
+        }
+
+        System.out.printf("parked %,d, rejected %,d, still active %d, %.0f ops/s%n", parked.get(), rejected.get(),
+                active, (double) threads * operationsPerThread * 1e9 / elapsedNanos);
+        checkStalledPublication(violations, operationsPerThread);
+        if (!violations.isEmpty()) {
+            violations.stream().limit(10).forEach(System.out::println);
+            throw new IllegalStateException(violations.size() + " double-booking violations");
+        }
+        System.out.println("No double-booking detected");
+    }
+
+    private static void checkStalledPublication(List<String> violations, int transitions)
+            throws InterruptedException {
+        ParkingSpot spot = new ParkingSpot("STALL", 0, SpotType.STANDARD, 0.0);
+        List<SpotStatus> published = new ArrayList<>();
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        spot.setStatusListener(new SpotStatusListener() {
+            @Override
+            public void onStatusChanged(ParkingSpot changed, SpotStatus oldStatus, SpotStatus newStatus) {
+            }
+
+            @Override
+            public void onStatusPublished(ParkingSpot changed, SpotStatus oldStatus, SpotStatus newStatus,
+                    Vehicle vehicle) {
+                published.add(newStatus);
+                if (published.size() == 1) {
+                    stalled.countDown();
+                    awaitQuietly(release);
+                }
+            }
+        });
+
+        Thread staller = new Thread(() -> spot.setStatus(SpotStatus.MAINTENANCE), "contention-staller");
+        staller.start();
+        stalled.await();
+        Thread follower = new Thread(() -> {
+            for (int i = 0; i < transitions; i++) {
+                spot.setStatus(i % 2 == 0 ? SpotStatus.AVAILABLE : SpotStatus.MAINTENANCE);
+            }
+        }, "contention-follower");
+        long startNanos = System.nanoTime();
+        follower.start();
+        follower.join(TimeUnit.SECONDS.toMillis(10));
+        long followerNanos = System.nanoTime() - startNanos;
+        if (follower.isAlive()) {
+            violation(violations, "Transitions blocked behind a stalled listener on spot " + spot.getSpotId());
+        }
+        release.countDown();
+        staller.join();
+        follower.join();
+
+        for (int i = 0; i < published.size(); i++) {
+            if (published.get(i) != (i % 2 == 0 ? SpotStatus.MAINTENANCE : SpotStatus.AVAILABLE)) {
+                violation(violations, "Spot events published out of transition order at " + i);
+                break;
+            }
+        }
+        if (published.size() != transitions + 1) {
+            violation(violations, String.format("Published %d of %d spot events", published.size(),
+                    transitions + 1));
+        }
+        System.out.printf("%,d transitions behind a stalled listener finished in %.1f ms, %,d events in order%n",
+                transitions, followerNanos / 1e6, published.size());
+    }
+
+    private static void violation(List<String> violations, String message) {
+        synchronized (violations) {
+            violations.add(message);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
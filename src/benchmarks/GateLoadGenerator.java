@@ -0,0 +1,103 @@
+package src.benchmarks;
+
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.models.gates.EntryExitGate;
+import src.models.gates.EntryExitGate.GateType;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.services.gateway.GateEvent;
+import src.services.gateway.GateEventServer;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GateLoadGenerator {
+    private static final int FLOORS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int gateCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int entriesPerGate = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxInFlight = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+
+        ParkingLotService service = ParkingLotService.newInstance("Load Test Lot");
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+        int spotsPerFloor = Math.max(100, maxInFlight * 2 / FLOORS);
+        for (int floor = 0; floor < FLOORS; floor++) {
+            service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, spotsPerFloor, 0, 0, 0));
+        }
+
+        List<EntryExitGate> gates = new ArrayList<>(gateCount);
+        for (int g = 0; g < gateCount; g++) {
+            gates.add(GateFactory.createGate(String.format("LG%05d", g), "Load Gate", g % FLOORS, GateType.BOTH));
+        }
+        service.addGates(gates);
+
+        int totalEntries = gateCount * entriesPerGate;
+        long[] latencies = new long[totalEntries * 2];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger rejectedEntries = new AtomicInteger();
+        Queue<GateEvent> exits = new ConcurrentLinkedQueue<>();
+
+        try (GateEventServer server = new GateEventServer(service, maxInFlight)) {
+            long start = System.nanoTime();
+            int submittedExits = 0;
+            for (int round = 0; round < entriesPerGate; round++) {
+                for (int g = 0; g < gateCount; g++) {
+                    String gateId = gates.get(g).getGateId();
+                    Vehicle vehicle = LotFixture.vehicle("LG" + g + "-" + round, g);
+                    GateEvent entry = server.submit(GateEvent.entry(gateId, vehicle));
+                    entry.getResult().thenAccept(ticket -> {
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - entry.getEnqueuedNanos();
+                        if (ticket.isPresent()) {
+                            Ticket t = ticket.get();
+                            exits.add(GateEvent.exit(gateId, t.getTicketId()));
+                        } else {
+                            rejectedEntries.incrementAndGet();
+                        }
+                    });
+                    submittedExits += submitExits(server, exits, latencies, recorded);
+                }
+            }
+            while (recorded.get() < totalEntries + submittedExits || !exits.isEmpty()) {
+                submittedExits += submitExits(server, exits, latencies, recorded);
+                Thread.onSpinWait();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long[] sorted = Arrays.copyOf(latencies, recorded.get());
+            Arrays.sort(sorted);
+            System.out.printf("Gates: %d, events: %d (rejected entries: %d), in-flight limit: %d%n",
+                    gateCount, sorted.length, rejectedEntries.get(), maxInFlight);
+            System.out.printf("Throughput: %.0f events/s%n", sorted.length * 1e9 / elapsed);
+            System.out.printf("Latency us: p50=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted[sorted.length - 1] / 1e3);
+            System.out.printf("Processing us: avg=%.1f per event%n", server.getAverageProcessingNanos() / 1e3);
+        }
+    }
+
+    private static int submitExits(GateEventServer server, Queue<GateEvent> exits, long[] latencies,
+            AtomicInteger recorded) throws InterruptedException {
+        int submitted = 0;
+        GateEvent exit;
+        while ((exit = exits.poll()) != null) {
+            GateEvent event = server.submit(exit);
+            event.getResult().thenAccept(ticket ->
+                    latencies[recorded.getAndIncrement()] = System.nanoTime() - event.getEnqueuedNanos());
+            submitted++;
+        }
+        return submitted;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e3;
+    }
+}
@@ -0,0 +1,234 @@
+package src.benchmarks;
+
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.models.gates.EntryExitGate;
+import src.models.gates.EntryExitGate.GateType;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.services.gateway.GateLoadTracker;
+import src.services.gateway.GateRouter;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class GateRoutingSimulation {
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long FLOOR_TRAVEL_MILLIS = 30_000;
+    private static final int[] GATE_FLOORS = { 0, 0, 0, 1, 1, 2 };
+    private static final double[] HOME_GATE_WEIGHTS = { 0.25, 0.2, 0.15, 0.15, 0.15, 0.1 };
+    private static final String EXIT_GATE_ID = "X01";
+
+    private static final int ARRIVAL = 0;
+    private static final int SERVICE_DONE = 1;
+    private static final int DEPARTURE = 2;
+
+    public static void main(String[] args) {
+        int hours = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        double arrivalsPerSecond = args.length > 1 ? Double.parseDouble(args[1]) : 0.3;
+        double meanServiceSeconds = args.length > 2 ? Double.parseDouble(args[2]) : 12;
+
+        System.out.printf("Simulating %d h, %.2f arrivals/s, %d entry gates, mean gate service %.0f s%n",
+                hours, arrivalsPerSecond, GATE_FLOORS.length, meanServiceSeconds);
+        for (boolean routed : new boolean[] { false, true }) {
+            long start = System.nanoTime();
+            Result result = run(hours, arrivalsPerSecond, meanServiceSeconds, routed);
+            result.print(routed ? "routed" : "home gate", System.nanoTime() - start);
+        }
+    }
+
+    private static Result run(int hours, double arrivalsPerSecond, double meanServiceSeconds, boolean routed) {
+        ParkingLotService service = ParkingLotService.newInstance("Gate Routing Simulation");
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+        service.setMetrics(null);
+        for (int floor = 0; floor <= 2; floor++) {
+            service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, 300, 30, 30, 10));
+        }
+        List<EntryExitGate> gates = new ArrayList<>();
+        for (int g = 0; g < GATE_FLOORS.length; g++) {
+            gates.add(GateFactory.createGate(String.format("E%02d", g + 1), "Entry " + (g + 1), GATE_FLOORS[g],
+                    GateType.ENTRY));
+        }
+        service.addGates(gates);
+        service.addGates(List.of(GateFactory.createGate(EXIT_GATE_ID, "Exit", 0, GateType.EXIT)));
+
+        GateLoadTracker tracker = new GateLoadTracker((long) (meanServiceSeconds * MILLIS_PER_SECOND
+                * NANOS_PER_MILLI));
+        GateRouter router = new GateRouter(service, tracker, FLOOR_TRAVEL_MILLIS * NANOS_PER_MILLI);
+        Map<String, Integer> gateIndex = new HashMap<>();
+        for (int g = 0; g < gates.size(); g++) {
+            gateIndex.put(gates.get(g).getGateId(), g);
+        }
+
+        Random random = new Random(42);
+        PriorityQueue<Event> events = new PriorityQueue<>(Comparator.comparingLong((Event e) -> e.atMillis)
+                .thenComparingLong(e -> e.sequence));
+        List<ArrayDeque<Arrival>> queues = new ArrayList<>();
+        Arrival[] inService = new Arrival[gates.size()];
+        for (int g = 0; g < gates.size(); g++) {
+            queues.add(new ArrayDeque<>());
+        }
+        long[] sequence = new long[1];
+        long end = hours * 3600 * MILLIS_PER_SECOND;
+        Result result = new Result();
+        List<Long> delays = new ArrayList<>();
+
+        long firstArrival = exponential(random, 1000 / arrivalsPerSecond);
+        events.add(new Event(firstArrival, ARRIVAL, newArrival(random, 0, meanServiceSeconds, firstArrival),
+                sequence[0]++));
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            long now = event.atMillis;
+            Arrival arrival = event.arrival;
+            switch (event.kind) {
+                case ARRIVAL: {
+                    if (arrival.gate < 0) {
+                        long next = now + exponential(random, 1000 / arrivalsPerSecond);
+                        if (next < end) {
+                            events.add(new Event(next, ARRIVAL, newArrival(random, arrival.index + 1,
+                                    meanServiceSeconds, next), sequence[0]++));
+                        }
+                        result.arrivals++;
+                        int gate = arrival.homeGate;
+                        if (routed) {
+                            gate = router.recommendEntryGate(arrival.vehicle, GATE_FLOORS[arrival.homeGate])
+                                    .map(g -> gateIndex.get(g.getGateId())).orElse(arrival.homeGate);
+                        }
+                        arrival.gate = gate;
+                        tracker.onQueued(gates.get(gate).getGateId());
+                        if (gate != arrival.homeGate) {
+                            result.rerouted++;
+                            long travel = FLOOR_TRAVEL_MILLIS * Math.abs(GATE_FLOORS[gate]
+                                    - GATE_FLOORS[arrival.homeGate]);
+                            events.add(new Event(now + travel, ARRIVAL, arrival, sequence[0]++));
+                            break;
+                        }
+                    }
+                    queues.get(arrival.gate).add(arrival);
+                    if (inService[arrival.gate] == null) {
+                        startService(arrival.gate, now, queues, inService, events, sequence, delays);
+                    }
+                    break;
+                }
+                case SERVICE_DONE: {
+                    int gate = arrival.gate;
+                    String gateId = gates.get(gate).getGateId();
+                    tracker.onCompleted(gateId, arrival.serviceMillis * NANOS_PER_MILLI, now * NANOS_PER_MILLI);
+                    inService[gate] = null;
+                    Ticket ticket = service.parkVehicle(arrival.vehicle, gateId).orElse(null);
+                    if (ticket == null) {
+                        result.rejected++;
+                    } else {
+                        arrival.ticketId = ticket.getTicketId();
+                        events.add(new Event(now + arrival.dwellMillis, DEPARTURE, arrival, sequence[0]++));
+                    }
+                    if (!queues.get(gate).isEmpty()) {
+                        startService(gate, now, queues, inService, events, sequence, delays);
+                    }
+                    break;
+                }
+                default:
+                    service.exitVehicle(arrival.ticketId, EXIT_GATE_ID);
+                    break;
+            }
+        }
+
+        long[] sorted = delays.stream().mapToLong(Long::longValue).sorted().toArray();
+        result.p50Millis = percentile(sorted, 0.50);
+        result.p99Millis = percentile(sorted, 0.99);
+        result.maxMillis = sorted.length > 0 ? sorted[sorted.length - 1] : 0;
+        result.meanMillis = Arrays.stream(sorted).average().orElse(0);
+        return result;
+    }
+
+    private static void startService(int gate, long now, List<ArrayDeque<Arrival>> queues, Arrival[] inService,
+            PriorityQueue<Event> events, long[] sequence, List<Long> delays) {
+        Arrival next = queues.get(gate).poll();
+        inService[gate] = next;
+        delays.add(now - next.arrivedMillis);
+        events.add(new Event(now + next.serviceMillis, SERVICE_DONE, next, sequence[0]++));
+    }
+
+    private static Arrival newArrival(Random random, int index, double meanServiceSeconds, long nowMillis) {
+        double pick = random.nextDouble();
+        int homeGate = 0;
+        for (double cumulative = HOME_GATE_WEIGHTS[0]; pick > cumulative && homeGate + 1 < GATE_FLOORS.length; ) {
+            cumulative += HOME_GATE_WEIGHTS[++homeGate];
+        }
+        long serviceMillis = Math.max(1, exponential(random, meanServiceSeconds * MILLIS_PER_SECOND));
+        long dwellMillis = (long) ((20 + random.nextDouble() * 40) * 60 * MILLIS_PER_SECOND);
+        return new Arrival(index, LotFixture.vehicle("GR", index), homeGate, nowMillis, serviceMillis, dwellMillis);
+    }
+
+    private static long exponential(Random random, double meanMillis) {
+        return (long) (-Math.log(1 - random.nextDouble()) * meanMillis);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length > 0 ? sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] : 0;
+    }
+
+    private static class Arrival {
+        private final int index;
+        private final Vehicle vehicle;
+        private final int homeGate;
+        private final long arrivedMillis;
+        private final long serviceMillis;
+        private final long dwellMillis;
+        private int gate = -1;
+        private String ticketId;
+
+        Arrival(int index, Vehicle vehicle, int homeGate, long arrivedMillis, long serviceMillis,
+                long dwellMillis) {
+            this.index = index;
+            this.vehicle = vehicle;
+            this.homeGate = homeGate;
+            this.arrivedMillis = arrivedMillis;
+            this.serviceMillis = serviceMillis;
+            this.dwellMillis = dwellMillis;
+        }
+    }
+
+    private static class Event {
+        private final long atMillis;
+        private final int kind;
+        private final Arrival arrival;
+        private final long sequence;
+
+        Event(long atMillis, int kind, Arrival arrival, long sequence) {
+            this.atMillis = atMillis;
+            this.kind = kind;
+            this.arrival = arrival;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class Result {
+        private int arrivals;
+        private int rerouted;
+        private int rejected;
+        private long p50Millis;
+        private long p99Millis;
+        private long maxMillis;
+        private double meanMillis;
+
+        void print(String label, long elapsedNanos) {
+            System.out.printf("%-10s arrivals %,d, rerouted %,d, rejected %,d | entry wait incl. travel: "
+                    + "mean %.1f s, p50 %.1f s, p99 %.1f s, max %.1f s | simulated in %.0f ms%n", label, arrivals,
+                    rerouted, rejected, meanMillis / 1000, p50Millis / 1000.0, p99Millis / 1000.0, maxMillis / 1000.0,
+                    elapsedNanos / 1e6);
+        }
+    }
+}
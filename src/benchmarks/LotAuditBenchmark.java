@@ -0,0 +1,56 @@
+package src.benchmarks;
+
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.services.audit.AuditReport;
+import src.services.audit.LotAuditor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LotAuditBenchmark {
+    public static void main(String[] args) {
+        int sites = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int spotsPerSite = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        double occupancy = args.length > 2 ? Double.parseDouble(args[2]) : 0.6;
+        int defectsPerSite = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        List<ParkingLotService> services = new ArrayList<>(sites);
+        Random random = new Random(7);
+        int injected = 0;
+        for (int site = 0; site < sites; site++) {
+            LotFixture fixture = new LotFixture(spotsPerSite, occupancy);
+            services.add(fixture.getService());
+            List<ParkingSpot> spots = fixture.getService().getAvailableSpots();
+            List<Ticket> tickets = fixture.getTickets();
+            for (int d = 0; d < defectsPerSite && d < spots.size() && d < tickets.size(); d++) {
+                if (spots.get(random.nextInt(spots.size())).tryOccupy(LotFixture.vehicle("ORPHAN" + site, d))) {
+                    injected++;
+                }
+                tickets.get(d).getAssignedSpot().free();
+                injected++;
+            }
+        }
+        System.out.printf("Sites: %d x %,d spots, occupancy %.1f, injected defects: %d, parallelism: %d%n",
+                sites, spotsPerSite, occupancy, injected, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+        LotAuditor auditor = new LotAuditor();
+        for (int round = 1; round <= 3; round++) {
+            long start = System.nanoTime();
+            List<AuditReport> reports = auditor.auditAndRepair(services);
+            long elapsed = System.nanoTime() - start;
+            int findings = 0;
+            int repaired = 0;
+            for (AuditReport report : reports) {
+                findings += report.getFindings().size();
+                repaired += report.getRepaired();
+            }
+            System.out.printf("Round %d: %d findings, %d repaired in %.1f ms%n", round, findings, repaired,
+                    elapsed / 1e6);
+            if (round == 1) {
+                System.out.println(reports.get(0));
+            }
+        }
+    }
+}
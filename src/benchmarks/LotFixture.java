@@ -0,0 +1,98 @@
+package src.benchmarks;
+
+import src.enums.VehicleType;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.factories.VehicleFactory;
+import src.models.gates.EntryExitGate;
+import src.models.parking.AvailableSpotIndex;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LotFixture {
+    public static final String GATE_ID = "G05";
+    private static final int SPOTS_PER_FLOOR = 1000;
+
+    private final ParkingLotService service;
+    private final List<ParkingSpot> spots;
+    private final List<Ticket> tickets;
+    private final EntryExitGate gate;
+
+    public LotFixture(int lotSize, double occupancy) {
+        this.service = ParkingLotService.newInstance("Benchmark Lot " + lotSize);
+        this.spots = new ArrayList<>();
+        this.tickets = new ArrayList<>();
+
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+
+        int floor = 1;
+        for (int remaining = lotSize; remaining > 0; remaining -= SPOTS_PER_FLOOR, floor++) {
+            int floorSize = Math.min(remaining, SPOTS_PER_FLOOR);
+            int charging = floorSize * 15 / 100;
+            int large = floorSize / 10;
+            int chargingLarge = floorSize / 20;
+            int standard = floorSize - charging - large - chargingLarge;
+            List<ParkingSpot> floorSpots = ParkingSpotFactory.createSpotsForFloor(floor, standard,
+                    charging, large, chargingLarge);
+            spots.addAll(floorSpots);
+            service.addParkingSpots(floorSpots);
+        }
+
+        List<EntryExitGate> gates = GateFactory.createDefaultGates();
+        service.addGates(gates);
+        this.gate = gates.stream().filter(g -> g.getGateId().equals(GATE_ID)).findFirst().get();
+
+        int toOccupy = (int) (lotSize * occupancy);
+        for (int i = 0; i < toOccupy; i++) {
+            service.parkVehicle(vehicle("FILL", i), GATE_ID).ifPresent(tickets::add);
+        }
+    }
+
+    public static Vehicle vehicle(String prefix, int index) {
+        VehicleType type = VehicleType.values()[index % VehicleType.values().length];
+        if (type == VehicleType.TRUCK) {
+            type = VehicleType.CAR;
+        }
+        return VehicleFactory.createVehicle(type, prefix + "-" + index, "Benchmark", false);
+    }
+
+    public static Vehicle[] vehicles(String prefix, int count) {
+        Vehicle[] vehicles = new Vehicle[count];
+        for (int i = 0; i < count; i++) {
+            vehicles[i] = vehicle(prefix, i);
+        }
+        return vehicles;
+    }
+
+    public AvailableSpotIndex buildIndex() {
+        AvailableSpotIndex index = new AvailableSpotIndex();
+        spots.forEach(index::refresh);
+        return index;
+    }
+
+    public Ticket sampleTicket() {
+        if (!tickets.isEmpty()) {
+            return tickets.get(0);
+        }
+        return new Ticket(vehicle("SAMPLE", 0), spots.get(0), GATE_ID);
+    }
+
+    public ParkingLotService getService() {
+        return service;
+    }
+
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    public EntryExitGate getGate() {
+        return gate;
+    }
+}
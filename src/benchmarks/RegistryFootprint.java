@@ -0,0 +1,64 @@
+package src.benchmarks;
+
+import src.enums.VehicleType;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.factories.VehicleFactory;
+import src.services.ParkingLotRegistry;
+import src.services.ParkingLotRegistry.LotLease;
+import src.services.ParkingLotService;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+
+public class RegistryFootprint {
+    public static void main(String[] args) throws InterruptedException {
+        int lots = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        long idleMillis = 200;
+
+        ParkingLotRegistry registry = new ParkingLotRegistry(RegistryFootprint::loadLot, idleMillis,
+                TimeUnit.MILLISECONDS);
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < lots; i++) {
+            registry.getLot("lot-" + i);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long bytes = usedHeap() - before;
+        System.out.printf("%,d idle lots of 50 spots: %.1f KB/lot, %.1f us/lot to load%n", lots,
+                bytes / 1024.0 / lots, elapsedNanos / 1e3 / lots);
+
+        registry.getLot("lot-1").parkVehicle(VehicleFactory.createVehicle(VehicleType.CAR, "RF-1", "Footprint"),
+                LotFixture.GATE_ID);
+        LotLease lease = registry.leaseLot("lot-2");
+        Thread.sleep(idleMillis * 2);
+        int evicted = registry.evictIdle();
+        boolean leasedKept = registry.findLoadedLot("lot-2").isPresent();
+        lease.close();
+        Thread.sleep(idleMillis * 2);
+        int evictedAfterRelease = registry.evictIdle();
+
+        System.out.printf("evicted %,d (occupied lot-1 kept: %b, leased lot-2 kept: %b), %d more after release%n",
+                evicted, registry.findLoadedLot("lot-1").isPresent(), leasedKept, evictedAfterRelease);
+        Reference.reachabilityFence(registry);
+    }
+
+    private static ParkingLotService loadLot(String lotName) {
+        ParkingLotService service = ParkingLotService.newInstance(lotName);
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(1, 40, 5, 3, 2));
+        service.addGates(GateFactory.createDefaultGates());
+        return service;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
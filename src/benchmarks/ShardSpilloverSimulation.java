@@ -0,0 +1,92 @@
+package src.benchmarks;
+
+import src.enums.VehicleType;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.factories.VehicleFactory;
+import src.models.gates.EntryExitGate;
+import src.models.gates.EntryExitGate.GateType;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.services.sharding.LocalShardTransport;
+import src.services.sharding.ShardRouter;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class ShardSpilloverSimulation {
+    private static final int SHARDS = 3;
+    private static final int FLOORS_PER_SHARD = 2;
+
+    public static void main(String[] args) {
+        int spotsPerFloor = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int capacity = SHARDS * FLOORS_PER_SHARD * spotsPerFloor;
+
+        LocalShardTransport transport = new LocalShardTransport();
+        ShardRouter router = new ShardRouter("Sharded Lot", transport);
+        for (int shardId = 0; shardId < SHARDS; shardId++) {
+            ParkingLotService shard = ParkingLotService.newInstance("Shard " + shardId);
+            shard.setAllocationStrategy(new NearestAvailableStrategy());
+            shard.setPricingStrategy(new HourlyPricingStrategy());
+            shard.setMetrics(null);
+            List<Integer> floors = new ArrayList<>();
+            for (int i = 0; i < FLOORS_PER_SHARD; i++) {
+                int floor = shardId * FLOORS_PER_SHARD + i;
+                floors.add(floor);
+                shard.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, spotsPerFloor, 0, 0, 0));
+            }
+            List<EntryExitGate> gates = shardId == 0 ? GateFactory.createDefaultGates()
+                    : List.of(GateFactory.createGate("S" + shardId + "-G", "Ramp " + shardId,
+                            shardId * FLOORS_PER_SHARD, GateType.BOTH));
+            shard.addGates(gates);
+            transport.addShard(shardId, shard);
+            router.assignFloors(shardId, floors);
+            router.addGates(shardId, gates);
+        }
+
+        System.out.printf("%d shards x %d floors x %d spots, every arrival at shard 0's gate %s%n", SHARDS,
+                FLOORS_PER_SHARD, spotsPerFloor, LotFixture.GATE_ID);
+        long start = System.nanoTime();
+        int[] parkedByShard = new int[SHARDS];
+        List<Ticket> tickets = new ArrayList<>();
+        int rejected = 0;
+        for (int i = 0; i < capacity + spotsPerFloor; i++) {
+            Optional<Ticket> ticket = router.parkVehicle(
+                    VehicleFactory.createVehicle(VehicleType.CAR, "SP-" + i, "Simulation"), LotFixture.GATE_ID);
+            if (!ticket.isPresent()) {
+                rejected++;
+                continue;
+            }
+            tickets.add(ticket.get());
+            parkedByShard[router.findShardByPlate(ticket.get().getVehicle().getLicensePlate()).get()]++;
+        }
+
+        int exited = 0;
+        int failedExits = 0;
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            Optional<Ticket> closed = i % 2 == 0 ? router.exitVehicle(ticket.getTicketId(), "G03")
+                    : router.exitByPlate(ticket.getVehicle().getLicensePlate(), "G04");
+            if (closed.isPresent()) {
+                exited++;
+            } else {
+                failedExits++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("parked %,d of %,d arrivals (capacity %,d), rejected %,d%n", tickets.size(),
+                capacity + spotsPerFloor, capacity, rejected);
+        for (int shardId = 0; shardId < SHARDS; shardId++) {
+            System.out.printf("  shard %d: %,d vehicles%s%n", shardId, parkedByShard[shardId],
+                    shardId == 0 ? "" : " (spillover)");
+        }
+        System.out.printf("exited %,d through shard 0's exit gates, failed %,d, still active %d, %.0f ms%n",
+                exited, failedExits, router.getStatus().getActiveVehicles(), elapsedNanos / 1e6);
+        System.out.println(tickets.size() == capacity && failedExits == 0
+                ? "Spillover filled every shard and every exit was routed"
+                : "Spillover lost capacity or exits");
+    }
+}
@@ -0,0 +1,109 @@
+package src.benchmarks;
+
+import src.enums.SpotStatus;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.models.parking.CompactSpotStore;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class SpotStoreFootprint {
+    private static final int SPOTS_PER_FLOOR = 1000;
+
+    public static void main(String[] args) {
+        int spots = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int floors = spots / SPOTS_PER_FLOOR;
+
+        long before = usedHeap();
+        List<ParkingSpot> objects = new ArrayList<>(spots);
+        for (int floor = 0; floor < floors; floor++) {
+            objects.addAll(ParkingSpotFactory.createSpotsForFloor(floor, 700, 150, 100, 50));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        CompactSpotStore store = new CompactSpotStore(spots, 2.0);
+        for (int floor = 0; floor < floors; floor++) {
+            store.addFloor(floor, 700, 150, 100, 50);
+        }
+        long compactBytes = usedHeap() - before;
+
+        before = usedHeap();
+        List<ParkingSpot> views = new ArrayList<>(spots);
+        for (int handle = 0; handle < store.size(); handle++) {
+            views.add(store.view(handle));
+        }
+        long viewBytes = usedHeap() - before;
+        Reference.reachabilityFence(objects);
+        Reference.reachabilityFence(views);
+
+        report("ParkingSpot objects", objectBytes, spots);
+        report("CompactSpotStore", compactBytes, spots);
+        report("CompactSpotStore + retained views", compactBytes + viewBytes, spots);
+        System.out.printf("Store reduction: %.1fx; retaining a view per spot gives back %.1f B/spot (%.1fx)%n",
+                (double) objectBytes / compactBytes, (double) viewBytes / spots,
+                (double) objectBytes / (compactBytes + viewBytes));
+        System.out.println(store.view(store.handleOf("F1-C001")));
+        runService();
+    }
+
+    private static void runService() {
+        CompactSpotStore store = new CompactSpotStore(2 * SPOTS_PER_FLOOR, 2.0);
+        store.addFloor(0, 700, 150, 100, 50);
+        store.addFloor(1, 700, 150, 100, 50);
+        List<ParkingSpot> views = new ArrayList<>(store.size());
+        for (int handle = 0; handle < store.size(); handle++) {
+            views.add(store.view(handle));
+        }
+        ParkingLotService service = ParkingLotService.newInstance("Compact Lot");
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+        service.setMetrics(null);
+        service.addParkingSpots(views);
+        service.addGates(GateFactory.createDefaultGates());
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < store.size() / 2; i++) {
+            Optional<Ticket> ticket = service.parkVehicle(LotFixture.vehicle("CS", i), LotFixture.GATE_ID);
+            ticket.ifPresent(tickets::add);
+        }
+        int exited = 0;
+        for (int i = 0; i < tickets.size(); i += 2) {
+            if (service.exitVehicle(tickets.get(i).getTicketId(), LotFixture.GATE_ID).isPresent()) {
+                exited++;
+            }
+        }
+        int occupied = 0;
+        for (int handle = 0; handle < store.size(); handle++) {
+            if (store.statusOf(handle) == SpotStatus.OCCUPIED) {
+                occupied++;
+            }
+        }
+        int active = service.getStatus().getActiveVehicles();
+        System.out.printf("ParkingLotService on compact views: parked %,d, exited %,d, store occupied %,d, "
+                + "active tickets %,d, available %,d%n", tickets.size(), exited, occupied, active,
+                service.getAvailableSpots().size());
+        if (occupied != active || occupied + service.getAvailableSpots().size() != store.size()) {
+            throw new IllegalStateException("Compact store and service disagree on occupancy");
+        }
+    }
+
+    private static void report(String name, long bytes, int spots) {
+        System.out.printf("%-34s %10.1f MB %8.1f B/spot%n", name, bytes / (1024.0 * 1024.0), (double) bytes / spots);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,67 @@
+package src.benchmarks;
+
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.services.ParkingLotService;
+import src.services.simulation.ArrivalTrace;
+import src.services.simulation.LotSimulator;
+import src.services.simulation.SimulationReport;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.allocation.PreferredSpotTypeStrategy;
+import src.strategies.allocation.SlotAllocationStrategy;
+import src.strategies.pricing.DynamicPricingStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import src.strategies.pricing.PricingRules;
+import src.strategies.pricing.PricingStrategy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+
+public class StrategySimulation {
+    private static final long MILLIS_PER_DAY = 86_400_000;
+    private static final int FLOORS = 3;
+    private static final String EXIT_GATE_ID = "G03";
+    private static final List<String> ENTRY_GATE_IDS = List.of("G01", "G02", "G05");
+    private static final PricingRules PEAK_RULES = PricingRules.flat()
+            .withTimeWindow(LocalTime.of(7, 0), LocalTime.of(10, 0), 1.5)
+            .withTimeWindow(LocalTime.of(16, 0), LocalTime.of(19, 0), 1.25)
+            .withOccupancyTier(0.85, 1.3);
+
+    public static void main(String[] args) throws IOException {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        double arrivalsPerHour = args.length > 1 ? Double.parseDouble(args[1]) : 900;
+        long meanDwellMinutes = args.length > 2 ? Long.parseLong(args[2]) : 180;
+
+        long start = LocalDate.of(2024, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        ArrivalTrace trace = args.length > 3 ? ArrivalTrace.load(Path.of(args[3]))
+                : ArrivalTrace.synthetic(start, days * MILLIS_PER_DAY, arrivalsPerHour, meanDwellMinutes * 60_000,
+                        ENTRY_GATE_IDS, 42);
+        LotSimulator simulator = new LotSimulator(StrategySimulation::newLot, EXIT_GATE_ID);
+
+        System.out.printf("Replaying %,d arrivals against %d floors x 1,000 spots%n", trace.size(), FLOORS);
+        List<SlotAllocationStrategy> allocations = List.of(new NearestAvailableStrategy(),
+                new PreferredSpotTypeStrategy());
+        List<Function<ParkingLotService, PricingStrategy>> pricings = List.of(service -> new HourlyPricingStrategy(),
+                service -> new DynamicPricingStrategy(service.getOccupancyCounters(), PEAK_RULES));
+        for (SlotAllocationStrategy allocation : allocations) {
+            for (Function<ParkingLotService, PricingStrategy> pricing : pricings) {
+                SimulationReport report = simulator.run(trace, allocation, pricing);
+                System.out.println(report);
+            }
+        }
+    }
+
+    private static ParkingLotService newLot() {
+        ParkingLotService service = ParkingLotService.newInstance("Strategy Simulation");
+        service.setMetrics(null);
+        for (int floor = 1; floor <= FLOORS; floor++) {
+            service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, 700, 150, 100, 50));
+        }
+        service.addGates(GateFactory.createDefaultGates());
+        return service;
+    }
+}
@@ -0,0 +1,78 @@
+package src.benchmarks;
+
+import src.enums.SpotType;
+import src.enums.VehicleType;
+import src.persistence.TicketHistoryStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+public class TicketHistoryBenchmark {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int DAYS = 30;
+    private static final int FLOORS = 10;
+    private static final int GATES = 8;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path directory = Files.createTempDirectory("ticket-history");
+        SpotType[] spotTypes = SpotType.values();
+        VehicleType[] vehicleTypes = VehicleType.values();
+        String[] gates = new String[GATES];
+        for (int g = 0; g < GATES; g++) {
+            gates[g] = String.format("G%02d", g + 1);
+        }
+
+        try (TicketHistoryStore store = new TicketHistoryStore(directory)) {
+            Random random = new Random(42);
+            long start = System.currentTimeMillis() - DAYS * DAY_MILLIS;
+            long step = DAYS * DAY_MILLIS / rows;
+            long appendStart = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                long exit = start + i * step;
+                long entry = exit - 60_000L * (1 + random.nextInt(600));
+                store.append(entry, exit, 2.0 + random.nextInt(40), random.nextInt(FLOORS),
+                        spotTypes[random.nextInt(spotTypes.length)], vehicleTypes[random.nextInt(vehicleTypes.length)],
+                        gates[random.nextInt(GATES)], gates[random.nextInt(GATES)]);
+            }
+            long appendNanos = System.nanoTime() - appendStart;
+            System.out.printf("Appended %,d rows in %d segments: %.0f ns/row%n", store.size(),
+                    store.getSegmentCount(), (double) appendNanos / rows);
+
+            long end = start + DAYS * DAY_MILLIS;
+            long lastDay = end - DAY_MILLIS;
+            report("totalRevenue (month)", () -> (long) store.totalRevenue(start, end));
+            report("revenueByFloor (month)", () -> store.revenueByFloor(start, end).size());
+            report("revenueByFloor (last day)", () -> store.revenueByFloor(lastDay, end).size());
+            report("averageDurationByVehicleType (month)",
+                    () -> store.averageDurationMinutesByVehicleType(start, end).size());
+            report("exitsByGate (month)", () -> store.exitsByGate(start, end).size());
+            report("entriesByGate (month)", () -> store.entriesByGate(start, end).size());
+            System.out.println("Revenue by floor: " + store.revenueByFloor(start, end));
+            System.out.println("Average minutes: " + store.averageDurationMinutesByVehicleType(start, end));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void report(String name, LongSupplier query) {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += query.getAsLong();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += query.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-40s %8.2f ms%s%n", name, best / 1e6, sink == 42 ? " " : "");
+    }
+}
@@ -0,0 +1,54 @@
+package src.benchmarks;
+
+import src.enums.VehicleType;
+import src.factories.GateFactory;
+import src.factories.ParkingSpotFactory;
+import src.factories.VehicleFactory;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.strategies.allocation.NearestAvailableStrategy;
+import src.strategies.pricing.HourlyPricingStrategy;
+import java.lang.ref.Reference;
+
+public class TicketTableFootprint {
+    private static final int SPOTS_PER_FLOOR = 1000;
+
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        ParkingLotService service = ParkingLotService.newInstance("Ticket Footprint");
+        service.setAllocationStrategy(new NearestAvailableStrategy());
+        service.setPricingStrategy(new HourlyPricingStrategy());
+        service.setMetrics(null);
+        for (int floor = 1; floor <= (tickets + SPOTS_PER_FLOOR - 1) / SPOTS_PER_FLOOR; floor++) {
+            service.addParkingSpots(ParkingSpotFactory.createSpotsForFloor(floor, SPOTS_PER_FLOOR, 0, 0, 0));
+        }
+        service.addGates(GateFactory.createDefaultGates());
+        Vehicle[] vehicles = new Vehicle[tickets];
+        for (int i = 0; i < tickets; i++) {
+            vehicles[i] = VehicleFactory.createVehicle(VehicleType.CAR, "FP-" + i, "Footprint");
+        }
+
+        long before = usedHeap();
+        int parked = 0;
+        for (Vehicle vehicle : vehicles) {
+            if (service.parkVehicle(vehicle, LotFixture.GATE_ID).isPresent()) {
+                parked++;
+            }
+        }
+        long bytes = usedHeap() - before;
+        Reference.reachabilityFence(vehicles);
+        Reference.reachabilityFence(service);
+
+        System.out.printf("%,d active tickets: %.1f MB, %.1f B/ticket%n", parked, bytes / (1024.0 * 1024.0),
+                (double) bytes / parked);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
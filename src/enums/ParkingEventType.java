@@ -0,0 +1,19 @@
+package src.enums;
+
+public enum ParkingEventType {
+    SPOT_OCCUPIED("Spot Occupied"),
+    SPOT_FREED("Spot Freed"),
+    TICKET_ISSUED("Ticket Issued"),
+    TICKET_CLOSED("Ticket Closed"),
+    GATE_STATE_CHANGED("Gate State Changed");
+
+    private final String description;
+
+    ParkingEventType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
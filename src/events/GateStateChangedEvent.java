@@ -0,0 +1,27 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+
+public class GateStateChangedEvent extends ParkingEvent {
+    private final String gateId;
+    private final boolean operational;
+
+    public GateStateChangedEvent(String gateId, boolean operational, long timestampMillis) {
+        super(ParkingEventType.GATE_STATE_CHANGED, timestampMillis);
+        this.gateId = gateId;
+        this.operational = operational;
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    public boolean isOperational() {
+        return operational;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d GateStateChanged[%s] Operational:%s", getSequence(), gateId, operational);
+    }
+}
@@ -0,0 +1,30 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+
+public abstract class ParkingEvent {
+    private final ParkingEventType type;
+    private final long timestampMillis;
+    private long sequence = -1;
+
+    protected ParkingEvent(ParkingEventType type, long timestampMillis) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+    }
+
+    void assignSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ParkingEventType getType() {
+        return type;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
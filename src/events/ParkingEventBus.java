@@ -0,0 +1,74 @@
+package src.events;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ParkingEventBus {
+    private final AtomicReferenceArray<ParkingEvent> ring;
+    private final int mask;
+    private final AtomicLong nextSequence;
+    private final CopyOnWriteArrayList<Subscription> waiters;
+
+    public ParkingEventBus(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.nextSequence = new AtomicLong();
+        this.waiters = new CopyOnWriteArrayList<>();
+    }
+
+    public long publish(ParkingEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        event.assignSequence(sequence);
+        int slot = (int) (sequence & mask);
+        ParkingEvent current = ring.get(slot);
+        while (current == null || current.getSequence() < sequence) {
+            if (ring.compareAndSet(slot, current, event)) {
+                break;
+            }
+            current = ring.get(slot);
+        }
+        for (Subscription subscription : waiters) {
+            subscription.wake();
+        }
+        return sequence;
+    }
+
+    public Subscription subscribe() {
+        return subscribe(getNextSequence());
+    }
+
+    public Subscription subscribe(long fromSequence) {
+        return new Subscription(this, Math.min(Math.max(0, fromSequence), getNextSequence()));
+    }
+
+    public Subscription subscribe(long fromSequence, ParkingEventListener listener) {
+        Subscription subscription = subscribe(fromSequence);
+        waiters.add(subscription);
+        subscription.start(listener);
+        return subscription;
+    }
+
+    public long getNextSequence() {
+        return nextSequence.get();
+    }
+
+    public long getOldestSequence() {
+        return Math.max(0, nextSequence.get() - ring.length());
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    void unsubscribe(Subscription subscription) {
+        waiters.remove(subscription);
+    }
+
+    ParkingEvent read(long sequence) {
+        return ring.get((int) (sequence & mask));
+    }
+}
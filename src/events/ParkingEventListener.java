@@ -0,0 +1,5 @@
+package src.events;
+
+public interface ParkingEventListener {
+    void onEvent(ParkingEvent event);
+}
@@ -0,0 +1,43 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+
+public class SpotFreedEvent extends ParkingEvent {
+    private final String spotId;
+    private final int floor;
+    private final SpotType spotType;
+    private final SpotStatus previousStatus;
+
+    public SpotFreedEvent(String spotId, int floor, SpotType spotType, SpotStatus previousStatus,
+            long timestampMillis) {
+        super(ParkingEventType.SPOT_FREED, timestampMillis);
+        this.spotId = spotId;
+        this.floor = floor;
+        this.spotType = spotType;
+        this.previousStatus = previousStatus;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public SpotType getSpotType() {
+        return spotType;
+    }
+
+    public SpotStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d SpotFreed[%s] Floor:%d Type:%s Was:%s",
+                getSequence(), spotId, floor, spotType, previousStatus);
+    }
+}
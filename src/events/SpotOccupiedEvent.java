@@ -0,0 +1,49 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+
+public class SpotOccupiedEvent extends ParkingEvent {
+    private final String spotId;
+    private final int floor;
+    private final SpotType spotType;
+    private final SpotStatus previousStatus;
+    private final String licensePlate;
+
+    public SpotOccupiedEvent(String spotId, int floor, SpotType spotType, SpotStatus previousStatus,
+            String licensePlate, long timestampMillis) {
+        super(ParkingEventType.SPOT_OCCUPIED, timestampMillis);
+        this.spotId = spotId;
+        this.floor = floor;
+        this.spotType = spotType;
+        this.previousStatus = previousStatus;
+        this.licensePlate = licensePlate;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public SpotType getSpotType() {
+        return spotType;
+    }
+
+    public SpotStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d SpotOccupied[%s] Floor:%d Type:%s Vehicle:%s",
+                getSequence(), spotId, floor, spotType, licensePlate);
+    }
+}
@@ -0,0 +1,112 @@
+package src.events;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class Subscription implements AutoCloseable {
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final ParkingEventBus bus;
+    private volatile long nextSequence;
+    private volatile long lostEvents;
+    private volatile boolean closed;
+    private volatile boolean waiting;
+    private volatile Thread worker;
+
+    Subscription(ParkingEventBus bus, long fromSequence) {
+        this.bus = bus;
+        this.nextSequence = fromSequence;
+    }
+
+    public ParkingEvent poll() {
+        while (true) {
+            long sequence = nextSequence;
+            ParkingEvent event = bus.read(sequence);
+            if (event == null || event.getSequence() < sequence) {
+                return null;
+            }
+            if (event.getSequence() == sequence) {
+                nextSequence = sequence + 1;
+                return event;
+            }
+            long oldest = Math.max(sequence + 1, bus.getOldestSequence());
+            lostEvents += oldest - sequence;
+            nextSequence = oldest;
+        }
+    }
+
+    public int drainTo(ParkingEventListener listener, int maxEvents) {
+        int drained = 0;
+        ParkingEvent event;
+        while (drained < maxEvents && (event = poll()) != null) {
+            listener.onEvent(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public long getLostEvents() {
+        return lostEvents;
+    }
+
+    public long getLag() {
+        return bus.getNextSequence() - nextSequence;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void start(ParkingEventListener listener) {
+        worker = new Thread(() -> {
+            int idle = 0;
+            while (!closed) {
+                if (drainTo(listener, bus.getCapacity()) > 0) {
+                    idle = 0;
+                } else if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    awaitPublish();
+                    idle = 0;
+                }
+            }
+        }, "parking-event-subscriber");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void awaitPublish() {
+        waiting = true;
+        if (!closed && !hasPending()) {
+            LockSupport.park(this);
+        }
+        waiting = false;
+    }
+
+    private boolean hasPending() {
+        ParkingEvent event = bus.read(nextSequence);
+        return event != null && event.getSequence() >= nextSequence;
+    }
+
+    void wake() {
+        if (waiting) {
+            Thread thread = worker;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        bus.unsubscribe(this);
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker = null;
+        }
+    }
+}
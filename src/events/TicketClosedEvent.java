@@ -0,0 +1,53 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+
+public class TicketClosedEvent extends ParkingEvent {
+    private final String ticketId;
+    private final String licensePlate;
+    private final String spotId;
+    private final String exitGate;
+    private final long durationMillis;
+    private final double amount;
+
+    public TicketClosedEvent(String ticketId, String licensePlate, String spotId, String exitGate,
+            long durationMillis, double amount, long timestampMillis) {
+        super(ParkingEventType.TICKET_CLOSED, timestampMillis);
+        this.ticketId = ticketId;
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.exitGate = exitGate;
+        this.durationMillis = durationMillis;
+        this.amount = amount;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public String getExitGate() {
+        return exitGate;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d TicketClosed[%s] Vehicle:%s Spot:%s Gate:%s Amount:$%.2f",
+                getSequence(), ticketId, licensePlate, spotId, exitGate, amount);
+    }
+}
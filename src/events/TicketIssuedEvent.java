@@ -0,0 +1,41 @@
+package src.events;
+
+import src.enums.ParkingEventType;
+
+public class TicketIssuedEvent extends ParkingEvent {
+    private final String ticketId;
+    private final String licensePlate;
+    private final String spotId;
+    private final String entryGate;
+
+    public TicketIssuedEvent(String ticketId, String licensePlate, String spotId, String entryGate,
+            long timestampMillis) {
+        super(ParkingEventType.TICKET_ISSUED, timestampMillis);
+        this.ticketId = ticketId;
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.entryGate = entryGate;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public String getEntryGate() {
+        return entryGate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d TicketIssued[%s] Vehicle:%s Spot:%s Gate:%s",
+                getSequence(), ticketId, licensePlate, spotId, entryGate);
+    }
+}
@@ -0,0 +1,87 @@
+package src.metrics;
+
+import src.metrics.ParkingMetrics.Operation;
+import src.metrics.ParkingMetrics.RejectionReason;
+import java.util.Map;
+
+public class MetricsSnapshot {
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+    private static final String[] QUANTILE_LABELS = { "0.5", "0.9", "0.99", "0.999" };
+
+    private final int samplingInterval;
+    private final Map<Operation, HistogramSnapshot> operations;
+    private final Map<String, Map<Operation, HistogramSnapshot>> gates;
+    private final Map<String, HistogramSnapshot> allocation;
+    private final Map<String, HistogramSnapshot> pricing;
+    private final Map<RejectionReason, Long> rejections;
+
+    MetricsSnapshot(int samplingInterval, Map<Operation, HistogramSnapshot> operations,
+            Map<String, Map<Operation, HistogramSnapshot>> gates, Map<String, HistogramSnapshot> allocation,
+            Map<String, HistogramSnapshot> pricing, Map<RejectionReason, Long> rejections) {
+        this.samplingInterval = samplingInterval;
+        this.operations = operations;
+        this.gates = gates;
+        this.allocation = allocation;
+        this.pricing = pricing;
+        this.rejections = rejections;
+    }
+
+    public int getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    public HistogramSnapshot getOperation(Operation operation) {
+        return operations.get(operation);
+    }
+
+    public Map<String, Map<Operation, HistogramSnapshot>> getGates() {
+        return gates;
+    }
+
+    public Map<String, HistogramSnapshot> getAllocation() {
+        return allocation;
+    }
+
+    public Map<String, HistogramSnapshot> getPricing() {
+        return pricing;
+    }
+
+    public long getRejections(RejectionReason reason) {
+        return rejections.get(reason);
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("parking_metrics_sampling_interval %d\n", samplingInterval));
+        operations.forEach((operation, histogram) ->
+                appendHistogram(sb, "parking_operation_latency_ns", "operation=\"" + operation.getLabel() + "\"",
+                        histogram));
+        gates.forEach((gateId, histograms) -> histograms.forEach((operation, histogram) ->
+                appendHistogram(sb, "parking_gate_latency_ns",
+                        "gate=\"" + gateId + "\",operation=\"" + operation.getLabel() + "\"", histogram)));
+        allocation.forEach((strategy, histogram) ->
+                appendHistogram(sb, "parking_allocation_latency_ns", "strategy=\"" + strategy + "\"", histogram));
+        pricing.forEach((strategy, histogram) ->
+                appendHistogram(sb, "parking_pricing_latency_ns", "strategy=\"" + strategy + "\"", histogram));
+        rejections.forEach((reason, count) ->
+                sb.append(String.format("parking_rejections_total{reason=\"%s\"} %d\n", reason.getLabel(), count)));
+        return sb.toString();
+    }
+
+    private static void appendHistogram(StringBuilder sb, String name, String labels, HistogramSnapshot histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            sb.append(String.format("%s{%s,quantile=\"%s\"} %d\n", name, labels, QUANTILE_LABELS[i],
+                    histogram.getPercentile(PERCENTILES[i])));
+        }
+        sb.append(String.format("%s_max{%s} %d\n", name, labels, histogram.getMax()));
+        sb.append(String.format("%s_count{%s} %d\n", name, labels, histogram.getCount()));
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
@@ -0,0 +1,145 @@
+package src.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParkingMetrics {
+    public static final int DEFAULT_SAMPLING_INTERVAL = 128;
+    private static final String UNKNOWN_GATE = "unknown";
+
+    private final int samplingMask;
+
+    private final Map<String, LatencyHistogram[]> gateHistograms;
+    private final Map<String, LatencyHistogram> allocationHistograms;
+    private final Map<String, LatencyHistogram> pricingHistograms;
+    private final LongAdder[] rejections;
+
+    public ParkingMetrics() {
+        this(DEFAULT_SAMPLING_INTERVAL);
+    }
+
+    public ParkingMetrics(int samplingInterval) {
+        if (samplingInterval < 1 || Integer.bitCount(samplingInterval) != 1) {
+            throw new IllegalArgumentException("Sampling interval must be a power of two: " + samplingInterval);
+        }
+        this.samplingMask = samplingInterval - 1;
+        this.gateHistograms = new ConcurrentHashMap<>();
+        this.allocationHistograms = new ConcurrentHashMap<>();
+        this.pricingHistograms = new ConcurrentHashMap<>();
+        this.rejections = new LongAdder[RejectionReason.values().length];
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    public boolean shouldSample() {
+        return samplingMask == 0 || (ThreadLocalRandom.current().nextInt() & samplingMask) == 0;
+    }
+
+    public int getSamplingInterval() {
+        return samplingMask + 1;
+    }
+
+    public void recordOperation(Operation operation, String gateId, long nanos) {
+        LatencyHistogram[] histograms = gateHistograms.get(gateId != null ? gateId : UNKNOWN_GATE);
+        if (histograms == null) {
+            histograms = gateHistograms.computeIfAbsent(gateId != null ? gateId : UNKNOWN_GATE,
+                    gate -> newOperationHistograms());
+        }
+        histograms[operation.ordinal()].record(nanos);
+    }
+
+    public void recordAllocation(String strategyName, long nanos) {
+        histogram(allocationHistograms, strategyName).record(nanos);
+    }
+
+    public void recordPricing(String strategyName, long nanos) {
+        histogram(pricingHistograms, strategyName).record(nanos);
+    }
+
+    public void recordRejection(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Map<Operation, HistogramSnapshot>> gates = new TreeMap<>();
+        Map<Operation, HistogramSnapshot> operations = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, HistogramSnapshot.empty());
+        }
+        gateHistograms.forEach((gateId, histograms) -> {
+            Map<Operation, HistogramSnapshot> perGate = new TreeMap<>();
+            for (Operation operation : Operation.values()) {
+                HistogramSnapshot snapshot = histograms[operation.ordinal()].snapshot();
+                perGate.put(operation, snapshot);
+                operations.merge(operation, snapshot, HistogramSnapshot::merge);
+            }
+            gates.put(gateId, perGate);
+        });
+
+        Map<RejectionReason, Long> rejectionCounts = new TreeMap<>();
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounts.put(reason, rejections[reason.ordinal()].sum());
+        }
+
+        return new MetricsSnapshot(getSamplingInterval(), operations, gates, snapshotAll(allocationHistograms),
+                snapshotAll(pricingHistograms), rejectionCounts);
+    }
+
+    private static Map<String, HistogramSnapshot> snapshotAll(Map<String, LatencyHistogram> histograms) {
+        Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    private static LatencyHistogram[] newOperationHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[Operation.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    public enum Operation {
+        PARK("park"),
+        EXIT("exit");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum RejectionReason {
+        GATE_UNAVAILABLE("gate_unavailable"),
+        DUPLICATE_PLATE("duplicate_plate"),
+        NO_SPOT("no_spot"),
+        UNKNOWN_TICKET("unknown_ticket");
+
+        private final String label;
+
+        RejectionReason(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+}
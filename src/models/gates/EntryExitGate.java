@@ -5,7 +5,7 @@ public class EntryExitGate {
     private final String location;
     private final int floor;
     private final GateType gateType;
-    private boolean isOperational;
+    private volatile boolean isOperational;
 
     public EntryExitGate(String gateId, String location, int floor, GateType gateType) {
         this.gateId = gateId;
@@ -0,0 +1,486 @@
+package src.models.parking;
+
+import src.models.vehicles.Vehicle;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ActiveTicketTable {
+    private static final int SEGMENT_BITS = 4;
+    private static final int INITIAL_SLOTS = 64;
+    private static final int INITIAL_SEGMENT_SLOTS = 8;
+    private static final int EMPTY = 0;
+    private static final int[] NO_INDEX = new int[1];
+    private static final String[] NO_STRINGS = new String[0];
+    private static final long[] NO_LONGS = new long[0];
+    private static final int[] NO_INTS = new int[0];
+    private static final Vehicle[] NO_VEHICLES = new Vehicle[0];
+    private static final Ticket[] NO_TICKETS = new Ticket[0];
+
+    private final Segment[] segments;
+    private final Map<ParkingSpot, Integer> spotHandles;
+    private final Map<ParkingSpot, Integer> retiredSpots;
+    private volatile ParkingSpot[] spots;
+    private int spotCount;
+    private int[] freeHandles;
+    private int freeHandleCount;
+    private volatile Clock clock;
+
+    public ActiveTicketTable(Clock clock) {
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(this);
+        }
+        this.spotHandles = new ConcurrentHashMap<>();
+        this.retiredSpots = new ConcurrentHashMap<>();
+        this.spots = new ParkingSpot[INITIAL_SLOTS];
+        this.freeHandles = new int[INITIAL_SLOTS];
+        this.clock = clock;
+    }
+
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public int registerSpot(ParkingSpot spot) {
+        Integer handle = spotHandles.get(spot);
+        return handle != null ? handle : assignSpotHandle(spot);
+    }
+
+    private synchronized int assignSpotHandle(ParkingSpot spot) {
+        Integer existing = spotHandles.get(spot);
+        if (existing != null) {
+            return existing;
+        }
+        int handle = freeHandleCount > 0 ? freeHandles[--freeHandleCount] : spotCount++;
+        ParkingSpot[] current = spots;
+        if (handle == current.length) {
+            current = Arrays.copyOf(current, handle * 2);
+        }
+        current[handle] = spot;
+        spots = current;
+        spotHandles.put(spot, handle);
+        return handle;
+    }
+
+    public void unregisterSpot(ParkingSpot spot) {
+        lockSegments(0, () -> {
+            synchronized (this) {
+                Integer handle = spotHandles.remove(spot);
+                if (handle == null) {
+                    return;
+                }
+                if (isHandleInUse(handle)) {
+                    retiredSpots.put(spot, handle);
+                } else {
+                    releaseHandle(handle);
+                }
+            }
+        });
+    }
+
+    private void releaseIfRetired(ParkingSpot spot) {
+        if (retiredSpots.isEmpty() || !retiredSpots.containsKey(spot)) {
+            return;
+        }
+        lockSegments(0, () -> {
+            synchronized (this) {
+                Integer handle = retiredSpots.get(spot);
+                if (handle != null && !isHandleInUse(handle)) {
+                    retiredSpots.remove(spot);
+                    releaseHandle(handle);
+                }
+            }
+        });
+    }
+
+    private void lockSegments(int from, Runnable action) {
+        if (from == segments.length) {
+            action.run();
+            return;
+        }
+        synchronized (segments[from]) {
+            lockSegments(from + 1, action);
+        }
+    }
+
+    private boolean isHandleInUse(int handle) {
+        for (Segment segment : segments) {
+            if (segment.usesSpotHandle(handle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void releaseHandle(int handle) {
+        spots[handle] = null;
+        if (freeHandleCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeHandleCount * 2);
+        }
+        freeHandles[freeHandleCount++] = handle;
+    }
+
+    public int getRegisteredSpotCount() {
+        return spotHandles.size() + retiredSpots.size();
+    }
+
+    public Ticket issue(String ticketId, Vehicle vehicle, ParkingSpot spot, String entryGate, long entryEpochMillis) {
+        int hash = hash(ticketId);
+        return segmentFor(hash).issue(ticketId, hash, vehicle, spot, entryGate, entryEpochMillis);
+    }
+
+    public Ticket get(String ticketId) {
+        int hash = hash(ticketId);
+        return segmentFor(hash).get(ticketId, hash);
+    }
+
+    public boolean contains(String ticketId) {
+        return get(ticketId) != null;
+    }
+
+    public Ticket remove(String ticketId) {
+        int hash = hash(ticketId);
+        Ticket removed = segmentFor(hash).remove(ticketId, hash);
+        if (removed != null) {
+            releaseIfRetired(removed.getAssignedSpot());
+        }
+        return removed;
+    }
+
+    public Ticket relocate(Ticket ticket, ParkingSpot spot) {
+        int hash = hash(ticket.getTicketId());
+        Ticket moved = segmentFor(hash).relocate(ticket, hash, spot);
+        if (moved != null) {
+            releaseIfRetired(ticket.getAssignedSpot());
+        }
+        return moved;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public List<Ticket> values() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.collect(tickets);
+        }
+        return tickets;
+    }
+
+    public int getSlotCapacity() {
+        int capacity = 0;
+        for (Segment segment : segments) {
+            capacity += segment.capacity();
+        }
+        return capacity;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    private ParkingSpot spotOf(int handle) {
+        return spots[handle];
+    }
+
+    private int boundHandle(ParkingSpot spot, int handle) {
+        return spot.equals(spotOf(handle)) ? handle : registerSpot(spot);
+    }
+
+    private static int hash(String ticketId) {
+        int h = ticketId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static final class Segment {
+        private final ActiveTicketTable table;
+        private String[] ticketIds;
+        private long[] entryEpochMillis;
+        private int[] spotHandles;
+        private Vehicle[] vehicles;
+        private String[] entryGates;
+        private Ticket[] views;
+        private int[] freeSlots;
+        private int freeCount;
+        private int used;
+        private int[] index;
+        private int size;
+        private volatile int version;
+
+        Segment(ActiveTicketTable table) {
+            this.table = table;
+            this.ticketIds = NO_STRINGS;
+            this.entryEpochMillis = NO_LONGS;
+            this.spotHandles = NO_INTS;
+            this.vehicles = NO_VEHICLES;
+            this.entryGates = NO_STRINGS;
+            this.views = NO_TICKETS;
+            this.freeSlots = NO_INTS;
+            this.index = NO_INDEX;
+        }
+
+        Ticket issue(String ticketId, int hash, Vehicle vehicle, ParkingSpot spot, String entryGate,
+                long entryMillis) {
+            int spotHandle = table.registerSpot(spot);
+            synchronized (this) {
+                return issue(ticketId, hash, vehicle, table.boundHandle(spot, spotHandle), entryGate, entryMillis);
+            }
+        }
+
+        private Ticket issue(String ticketId, int hash, Vehicle vehicle, int spotHandle, String entryGate,
+                long entryMillis) {
+            if (position(ticketId, hash) >= 0) {
+                throw new IllegalArgumentException("Ticket already active: " + ticketId);
+            }
+            beginWrite();
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (used == ticketIds.length) {
+                    growSlots();
+                }
+                slot = used++;
+            }
+            Ticket view = new Ticket(ticketId, this, slot);
+            ticketIds[slot] = ticketId;
+            entryEpochMillis[slot] = entryMillis;
+            spotHandles[slot] = spotHandle;
+            vehicles[slot] = vehicle;
+            entryGates[slot] = entryGate;
+            views[slot] = view;
+            if (++size * 2 > index.length) {
+                rehash(Math.max(INITIAL_SEGMENT_SLOTS * 2, index.length * 2));
+            }
+            insert(hash, slot);
+            endWrite();
+            return view;
+        }
+
+        synchronized Ticket get(String ticketId, int hash) {
+            int position = position(ticketId, hash);
+            return position >= 0 ? views[index[position] - 1] : null;
+        }
+
+        synchronized Ticket remove(String ticketId, int hash) {
+            int position = position(ticketId, hash);
+            if (position < 0) {
+                return null;
+            }
+            int slot = index[position] - 1;
+            beginWrite();
+            deleteAt(position);
+            Ticket view = views[slot];
+            detach(slot);
+            ticketIds[slot] = null;
+            vehicles[slot] = null;
+            entryGates[slot] = null;
+            views[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, Math.max(INITIAL_SEGMENT_SLOTS, freeCount * 2));
+            }
+            freeSlots[freeCount++] = slot;
+            size--;
+            endWrite();
+            return view;
+        }
+
+        Ticket relocate(Ticket ticket, int hash, ParkingSpot spot) {
+            int spotHandle = table.registerSpot(spot);
+            synchronized (this) {
+                return relocate(ticket, hash, table.boundHandle(spot, spotHandle));
+            }
+        }
+
+        private Ticket relocate(Ticket ticket, int hash, int spotHandle) {
+            int position = position(ticket.getTicketId(), hash);
+            if (position < 0) {
+                return null;
+            }
+            int slot = index[position] - 1;
+            if (views[slot] != ticket) {
+                return null;
+            }
+            beginWrite();
+            detach(slot);
+            Ticket moved = new Ticket(ticket.getTicketId(), this, slot);
+            spotHandles[slot] = spotHandle;
+            views[slot] = moved;
+            endWrite();
+            return moved;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int capacity() {
+            return ticketIds.length;
+        }
+
+        synchronized void collect(List<Ticket> tickets) {
+            for (int slot = 0; slot < used; slot++) {
+                if (views[slot] != null) {
+                    tickets.add(views[slot]);
+                }
+            }
+        }
+
+        Vehicle vehicle(Ticket view, int slot) {
+            int stamp = version;
+            boolean live = views[slot] == view;
+            Vehicle vehicle = vehicles[slot];
+            if (!validate(stamp)) {
+                synchronized (this) {
+                    live = views[slot] == view;
+                    vehicle = vehicles[slot];
+                }
+            }
+            return live ? vehicle : view.detachedVehicle();
+        }
+
+        ParkingSpot spot(Ticket view, int slot) {
+            int stamp = version;
+            boolean live = views[slot] == view;
+            ParkingSpot spot = table.spotOf(spotHandles[slot]);
+            if (!validate(stamp)) {
+                synchronized (this) {
+                    live = views[slot] == view;
+                    spot = table.spotOf(spotHandles[slot]);
+                }
+            }
+            return live ? spot : view.detachedSpot();
+        }
+
+        String entryGate(Ticket view, int slot) {
+            int stamp = version;
+            boolean live = views[slot] == view;
+            String entryGate = entryGates[slot];
+            if (!validate(stamp)) {
+                synchronized (this) {
+                    live = views[slot] == view;
+                    entryGate = entryGates[slot];
+                }
+            }
+            return live ? entryGate : view.detachedEntryGate();
+        }
+
+        long entryEpochMillis(Ticket view, int slot) {
+            int stamp = version;
+            boolean live = views[slot] == view;
+            long entryMillis = entryEpochMillis[slot];
+            if (!validate(stamp)) {
+                synchronized (this) {
+                    live = views[slot] == view;
+                    entryMillis = entryEpochMillis[slot];
+                }
+            }
+            return live ? entryMillis : view.detachedEntryEpochMillis();
+        }
+
+        boolean usesSpotHandle(int spotHandle) {
+            for (int slot = 0; slot < used; slot++) {
+                if (views[slot] != null && spotHandles[slot] == spotHandle) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Clock clock() {
+            return table.clock;
+        }
+
+        long clockMillis() {
+            return table.clock.millis();
+        }
+
+        private void beginWrite() {
+            version = version + 1;
+            VarHandle.storeStoreFence();
+        }
+
+        private void endWrite() {
+            version = version + 1;
+        }
+
+        private boolean validate(int stamp) {
+            VarHandle.loadLoadFence();
+            return (stamp & 1) == 0 && version == stamp;
+        }
+
+        private void detach(int slot) {
+            views[slot].detach(vehicles[slot], table.spotOf(spotHandles[slot]), entryGates[slot],
+                    entryEpochMillis[slot], table.clock);
+        }
+
+        private int position(String ticketId, int hash) {
+            int mask = index.length - 1;
+            for (int position = hash & mask; ; position = (position + 1) & mask) {
+                int entry = index[position];
+                if (entry == EMPTY) {
+                    return -1;
+                }
+                if (ticketIds[entry - 1].equals(ticketId)) {
+                    return position;
+                }
+            }
+        }
+
+        private void insert(int hash, int slot) {
+            int mask = index.length - 1;
+            int position = hash & mask;
+            while (index[position] != EMPTY) {
+                position = (position + 1) & mask;
+            }
+            index[position] = slot + 1;
+        }
+
+        private void deleteAt(int position) {
+            int mask = index.length - 1;
+            int hole = position;
+            for (int next = (hole + 1) & mask; index[next] != EMPTY; next = (next + 1) & mask) {
+                int home = hash(ticketIds[index[next] - 1]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    index[hole] = index[next];
+                    hole = next;
+                }
+            }
+            index[hole] = EMPTY;
+        }
+
+        private void rehash(int capacity) {
+            int[] previous = index;
+            index = new int[capacity];
+            for (int entry : previous) {
+                if (entry != EMPTY) {
+                    insert(hash(ticketIds[entry - 1]), entry - 1);
+                }
+            }
+        }
+
+        private void growSlots() {
+            int capacity = Math.max(INITIAL_SEGMENT_SLOTS, ticketIds.length * 2);
+            ticketIds = Arrays.copyOf(ticketIds, capacity);
+            entryEpochMillis = Arrays.copyOf(entryEpochMillis, capacity);
+            spotHandles = Arrays.copyOf(spotHandles, capacity);
+            vehicles = Arrays.copyOf(vehicles, capacity);
+            entryGates = Arrays.copyOf(entryGates, capacity);
+            views = Arrays.copyOf(views, capacity);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package src.models.parking;
+
+import src.enums.SpotType;
+import src.models.vehicles.Vehicle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class AvailableSpotIndex {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private final ConcurrentSkipListMap<Integer, FloorSlots> floors;
+
+    public AvailableSpotIndex() {
+        this.floors = new ConcurrentSkipListMap<>();
+    }
+
+    public void refresh(ParkingSpot spot) {
+        ConcurrentSkipListMap<String, ParkingSpot> slots = slotsFor(spot);
+        synchronized (spot.transitionLock()) {
+            if (spot.isAvailable()) {
+                slots.put(spot.getSpotId(), spot);
+            } else {
+                slots.remove(spot.getSpotId());
+            }
+        }
+    }
+
+    public void remove(ParkingSpot spot) {
+        ConcurrentSkipListMap<String, ParkingSpot> slots = slotsFor(spot);
+        synchronized (spot.transitionLock()) {
+            slots.remove(spot.getSpotId(), spot);
+        }
+    }
+
+    public ParkingSpot firstAvailable(int floor, SpotType spotType) {
+        FloorSlots floorSlots = floors.get(floor);
+        if (floorSlots == null) {
+            return null;
+        }
+        ConcurrentSkipListMap<String, ParkingSpot> slots = floorSlots.byType[spotType.ordinal()];
+        Map.Entry<String, ParkingSpot> entry = slots.firstEntry();
+        while (entry != null && !entry.getValue().isAvailable()) {
+            entry = slots.higherEntry(entry.getKey());
+        }
+        return entry != null ? entry.getValue() : null;
+    }
+
+    public ParkingSpot findNearest(Vehicle vehicle, int fromFloor, SpotType[] spotTypes) {
+        NavigableSet<Integer> floorKeys = floors.keySet();
+        Integer up = floorKeys.ceiling(fromFloor);
+        Integer down = floorKeys.lower(fromFloor);
+        ParkingSpot best = null;
+
+        while (up != null || down != null) {
+            int upDistance = up != null ? up - fromFloor : Integer.MAX_VALUE;
+            int downDistance = down != null ? fromFloor - down : Integer.MAX_VALUE;
+            int distance = Math.min(upDistance, downDistance);
+
+            if (upDistance == distance) {
+                best = pickFirst(best, vehicle, up, spotTypes);
+                up = floorKeys.higher(up);
+            }
+            if (downDistance == distance) {
+                best = pickFirst(best, vehicle, down, spotTypes);
+                down = floorKeys.lower(down);
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    public int claimNearest(Vehicle[] vehicles, int from, int to, int fromFloor, SpotType[] spotTypes,
+            ParkingSpot[] claimed) {
+        NavigableSet<Integer> floorKeys = floors.keySet();
+        Integer up = floorKeys.ceiling(fromFloor);
+        Integer down = floorKeys.lower(fromFloor);
+        List<Iterator<ParkingSpot>> buckets = new ArrayList<>();
+        ParkingSpot[] heads = new ParkingSpot[2 * spotTypes.length];
+        int next = from;
+
+        while (next < to && (up != null || down != null)) {
+            int upDistance = up != null ? up - fromFloor : Integer.MAX_VALUE;
+            int downDistance = down != null ? fromFloor - down : Integer.MAX_VALUE;
+            int distance = Math.min(upDistance, downDistance);
+
+            buckets.clear();
+            if (upDistance == distance) {
+                addBuckets(buckets, vehicles[next], up, spotTypes);
+                up = floorKeys.higher(up);
+            }
+            if (downDistance == distance) {
+                addBuckets(buckets, vehicles[next], down, spotTypes);
+                down = floorKeys.lower(down);
+            }
+            for (int b = 0; b < buckets.size(); b++) {
+                heads[b] = advance(buckets.get(b));
+            }
+            while (next < to) {
+                int lowest = -1;
+                for (int b = 0; b < buckets.size(); b++) {
+                    if (heads[b] != null && (lowest < 0
+                            || heads[b].getSpotId().compareTo(heads[lowest].getSpotId()) < 0)) {
+                        lowest = b;
+                    }
+                }
+                if (lowest < 0) {
+                    break;
+                }
+                ParkingSpot candidate = heads[lowest];
+                heads[lowest] = advance(buckets.get(lowest));
+                if (candidate.tryOccupy(vehicles[next])) {
+                    claimed[next++] = candidate;
+                }
+            }
+        }
+        return next;
+    }
+
+    private void addBuckets(List<Iterator<ParkingSpot>> buckets, Vehicle vehicle, int floor, SpotType[] spotTypes) {
+        FloorSlots floorSlots = floors.get(floor);
+        if (floorSlots == null) {
+            return;
+        }
+        for (SpotType spotType : spotTypes) {
+            ConcurrentSkipListMap<String, ParkingSpot> slots = floorSlots.byType[spotType.ordinal()];
+            if (vehicle.canFitInSpot(spotType) && !slots.isEmpty()) {
+                buckets.add(slots.values().iterator());
+            }
+        }
+    }
+
+    private static ParkingSpot advance(Iterator<ParkingSpot> bucket) {
+        while (bucket.hasNext()) {
+            ParkingSpot spot = bucket.next();
+            if (spot.isAvailable()) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    private ParkingSpot pickFirst(ParkingSpot best, Vehicle vehicle, int floor, SpotType[] spotTypes) {
+        for (SpotType spotType : spotTypes) {
+            if (!vehicle.canFitInSpot(spotType)) {
+                continue;
+            }
+            ParkingSpot candidate = firstAvailable(floor, spotType);
+            if (candidate != null && (best == null || candidate.getSpotId().compareTo(best.getSpotId()) < 0)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    public NavigableSet<Integer> getFloors() {
+        return floors.keySet();
+    }
+
+    public List<ParkingSpot> getAvailableSpots() {
+        List<ParkingSpot> spots = new ArrayList<>();
+        floors.values().forEach(floorSlots -> floorSlots.collectInto(spots));
+        return spots;
+    }
+
+    public List<ParkingSpot> getAvailableSpotsForFloor(int floor) {
+        List<ParkingSpot> spots = new ArrayList<>();
+        FloorSlots floorSlots = floors.get(floor);
+        if (floorSlots != null) {
+            floorSlots.collectInto(spots);
+        }
+        return spots;
+    }
+
+    private ConcurrentSkipListMap<String, ParkingSpot> slotsFor(ParkingSpot spot) {
+        FloorSlots floorSlots = floors.computeIfAbsent(spot.getFloor(), f -> new FloorSlots());
+        return floorSlots.byType[spot.getSpotType().ordinal()];
+    }
+
+    private static class FloorSlots {
+        private final ConcurrentSkipListMap<String, ParkingSpot>[] byType;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        FloorSlots() {
+            this.byType = new ConcurrentSkipListMap[SPOT_TYPES.length];
+            for (int i = 0; i < byType.length; i++) {
+                byType[i] = new ConcurrentSkipListMap<>();
+            }
+        }
+
+        void collectInto(List<ParkingSpot> spots) {
+            for (ConcurrentSkipListMap<String, ParkingSpot> slots : byType) {
+                spots.addAll(slots.values());
+            }
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package src.models.parking;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import src.models.vehicles.Vehicle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompactSpotStore {
+    public static final int NO_SPOT = -1;
+    private static final int NO_OCCUPANT = -1;
+    private static final int NO_LISTENER = 0;
+    private static final int MAX_LISTENERS = 255;
+    private static final int TRANSITION_LOCKS = 64;
+
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle OCCUPANT = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LISTENER_SLOT = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle VIEW = MethodHandles.arrayElementVarHandle(SpotView[].class);
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final SpotStatus[] STATUSES = SpotStatus.values();
+    private static final String[] TYPE_PREFIXES = { "S", "C", "L", "CL" };
+    private static final int[] TYPE_NUMBER_WIDTHS = { 3, 3, 3, 2 };
+
+    private final double basePrice;
+    private final byte[] statuses;
+    private final int[] occupants;
+    private final byte[] listenerSlots;
+    private final Object[] transitionLocks;
+    private final OccupantTable[] occupantTables;
+    private final Map<Integer, FloorBlock> floorBlocks;
+    private volatile FloorBlock[] blocks;
+    private volatile SpotStatusListener[] listeners;
+    private volatile SpotView[] views;
+    private int size;
+
+    public CompactSpotStore(int capacity, double basePrice) {
+        this.basePrice = basePrice;
+        this.statuses = new byte[capacity];
+        this.occupants = new int[capacity];
+        this.listenerSlots = new byte[capacity];
+        this.transitionLocks = new Object[TRANSITION_LOCKS];
+        this.occupantTables = new OccupantTable[TRANSITION_LOCKS];
+        for (int i = 0; i < TRANSITION_LOCKS; i++) {
+            transitionLocks[i] = new Object();
+            occupantTables[i] = new OccupantTable();
+        }
+        this.floorBlocks = new HashMap<>();
+        this.blocks = new FloorBlock[0];
+        this.listeners = new SpotStatusListener[] { null };
+    }
+
+    public synchronized void addFloor(int floor, int standardSpots, int chargingSpots, int largeSpots,
+            int chargingLargeSpots) {
+        if (floorBlocks.containsKey(floor)) {
+            throw new IllegalArgumentException("Floor already added: " + floor);
+        }
+        int[] counts = { standardSpots, chargingSpots, largeSpots, chargingLargeSpots };
+        int total = standardSpots + chargingSpots + largeSpots + chargingLargeSpots;
+        if (size + total > statuses.length) {
+            throw new IllegalStateException("Spot store capacity exceeded: " + statuses.length);
+        }
+
+        int[] starts = new int[SPOT_TYPES.length + 1];
+        starts[0] = size;
+        for (SpotType spotType : SPOT_TYPES) {
+            starts[spotType.ordinal() + 1] = starts[spotType.ordinal()] + counts[spotType.ordinal()];
+        }
+        for (int handle = size; handle < size + total; handle++) {
+            statuses[handle] = (byte) SpotStatus.AVAILABLE.ordinal();
+            occupants[handle] = NO_OCCUPANT;
+        }
+        size += total;
+
+        FloorBlock block = new FloorBlock(floor, starts);
+        floorBlocks.put(floor, block);
+        FloorBlock[] current = Arrays.copyOf(blocks, blocks.length + 1);
+        current[current.length - 1] = block;
+        blocks = current;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int handleOf(String spotId) {
+        int handle = parseHandle(spotId);
+        return handle != NO_SPOT && spotIdOf(handle).equals(spotId) ? handle : NO_SPOT;
+    }
+
+    private int parseHandle(String spotId) {
+        int dash = spotId.indexOf('-', 2);
+        if (dash < 0 || spotId.charAt(0) != 'F') {
+            return NO_SPOT;
+        }
+        int typeEnd = dash + 1;
+        while (typeEnd < spotId.length() && !Character.isDigit(spotId.charAt(typeEnd))) {
+            typeEnd++;
+        }
+        try {
+            int floor = Integer.parseInt(spotId.substring(1, dash));
+            String prefix = spotId.substring(dash + 1, typeEnd);
+            int number = Integer.parseInt(spotId.substring(typeEnd));
+            for (int type = 0; type < TYPE_PREFIXES.length; type++) {
+                if (TYPE_PREFIXES[type].equals(prefix)) {
+                    return handleOf(floor, SPOT_TYPES[type], number);
+                }
+            }
+        } catch (NumberFormatException e) {
+            return NO_SPOT;
+        }
+        return NO_SPOT;
+    }
+
+    public synchronized int handleOf(int floor, SpotType spotType, int number) {
+        FloorBlock block = floorBlocks.get(floor);
+        if (block == null || number < 1 || number > block.count(spotType.ordinal())) {
+            return NO_SPOT;
+        }
+        return block.starts[spotType.ordinal()] + number - 1;
+    }
+
+    public String spotIdOf(int handle) {
+        SpotView[] current = views;
+        SpotView view = current != null ? (SpotView) VIEW.getAcquire(current, handle) : null;
+        return view != null ? view.spotId : formatSpotId(handle);
+    }
+
+    private String formatSpotId(int handle) {
+        FloorBlock block = blockOf(handle);
+        int type = block.typeOf(handle);
+        String number = Integer.toString(handle - block.starts[type] + 1);
+        StringBuilder spotId = new StringBuilder(12).append('F').append(block.floor).append('-')
+                .append(TYPE_PREFIXES[type]);
+        for (int i = number.length(); i < TYPE_NUMBER_WIDTHS[type]; i++) {
+            spotId.append('0');
+        }
+        return spotId.append(number).toString();
+    }
+
+    public int floorOf(int handle) {
+        return blockOf(handle).floor;
+    }
+
+    public SpotType typeOf(int handle) {
+        return SPOT_TYPES[blockOf(handle).typeOf(handle)];
+    }
+
+    private FloorBlock blockOf(int handle) {
+        FloorBlock[] current = blocks;
+        int low = 0;
+        int high = current.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (current[middle].starts[0] <= handle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (current.length == 0 || handle < 0 || handle >= current[low].end()) {
+            throw new IllegalArgumentException("Unknown spot handle: " + handle);
+        }
+        return current[low];
+    }
+
+    public SpotStatus statusOf(int handle) {
+        return STATUSES[(byte) STATUS.getVolatile(statuses, handle)];
+    }
+
+    public Vehicle occupantOf(int handle) {
+        synchronized (lockFor(handle)) {
+            return occupantTableFor(handle).get((int) OCCUPANT.getAcquire(occupants, handle));
+        }
+    }
+
+    public boolean tryOccupy(int handle, Vehicle vehicle) {
+        return tryOccupy(handle, vehicle, SpotStatus.AVAILABLE);
+    }
+
+    public boolean tryOccupy(int handle, Vehicle vehicle, SpotStatus expectedStatus) {
+        return tryOccupy(handle, vehicle, expectedStatus, null);
+    }
+
+    private boolean tryOccupy(int handle, Vehicle vehicle, SpotStatus expectedStatus, SpotView source) {
+        if (!vehicle.canFitInSpot(typeOf(handle)) || statusOf(handle) != expectedStatus) {
+            return false;
+        }
+        synchronized (lockFor(handle)) {
+            if (!STATUS.compareAndSet(statuses, handle, (byte) expectedStatus.ordinal(),
+                    (byte) SpotStatus.OCCUPIED.ordinal())) {
+                return false;
+            }
+            OCCUPANT.setRelease(occupants, handle, occupantTableFor(handle).add(vehicle));
+            notifyListener(handle, source, expectedStatus, SpotStatus.OCCUPIED);
+        }
+        return true;
+    }
+
+    public boolean compareAndSetStatus(int handle, SpotStatus expectedStatus, SpotStatus newStatus) {
+        return compareAndSetStatus(handle, expectedStatus, newStatus, null);
+    }
+
+    private boolean compareAndSetStatus(int handle, SpotStatus expectedStatus, SpotStatus newStatus,
+            SpotView source) {
+        if (statusOf(handle) != expectedStatus) {
+            return false;
+        }
+        synchronized (lockFor(handle)) {
+            if (!STATUS.compareAndSet(statuses, handle, (byte) expectedStatus.ordinal(),
+                    (byte) newStatus.ordinal())) {
+                return false;
+            }
+            notifyListener(handle, source, expectedStatus, newStatus);
+        }
+        return true;
+    }
+
+    public Vehicle free(int handle) {
+        return free(handle, null);
+    }
+
+    private Vehicle free(int handle, SpotView source) {
+        synchronized (lockFor(handle)) {
+            Vehicle vehicle = occupantTableFor(handle).remove((int) OCCUPANT.getAndSet(occupants, handle, NO_OCCUPANT));
+            setStatus(handle, SpotStatus.AVAILABLE, source);
+            return vehicle;
+        }
+    }
+
+    public void setStatus(int handle, SpotStatus status) {
+        setStatus(handle, status, null);
+    }
+
+    private void setStatus(int handle, SpotStatus status, SpotView source) {
+        synchronized (lockFor(handle)) {
+            SpotStatus oldStatus = STATUSES[(byte) STATUS.getAndSet(statuses, handle, (byte) status.ordinal())];
+            notifyListener(handle, source, oldStatus, status);
+        }
+    }
+
+    private Object lockFor(int handle) {
+        return transitionLocks[handle & (TRANSITION_LOCKS - 1)];
+    }
+
+    private OccupantTable occupantTableFor(int handle) {
+        return occupantTables[handle & (TRANSITION_LOCKS - 1)];
+    }
+
+    public void setStatusListener(int handle, SpotStatusListener listener) {
+        LISTENER_SLOT.setVolatile(listenerSlots, handle, (byte) listenerSlot(listener));
+    }
+
+    private synchronized int listenerSlot(SpotStatusListener listener) {
+        if (listener == null) {
+            return NO_LISTENER;
+        }
+        SpotStatusListener[] current = listeners;
+        for (int slot = 1; slot < current.length; slot++) {
+            if (current[slot] == listener) {
+                return slot;
+            }
+        }
+        if (current.length > MAX_LISTENERS) {
+            throw new IllegalStateException("Spot store supports at most " + MAX_LISTENERS + " listeners");
+        }
+        current = Arrays.copyOf(current, current.length + 1);
+        current[current.length - 1] = listener;
+        listeners = current;
+        return current.length - 1;
+    }
+
+    private void notifyListener(int handle, SpotView source, SpotStatus oldStatus, SpotStatus newStatus) {
+        int slot = Byte.toUnsignedInt((byte) LISTENER_SLOT.getVolatile(listenerSlots, handle));
+        SpotStatusListener listener = slot != NO_LISTENER ? listeners[slot] : null;
+        if (listener != null && oldStatus != newStatus) {
+            ParkingSpot spot = source != null ? source : viewOf(handle);
+            listener.onStatusChanged(spot, oldStatus, newStatus);
+            listener.onStatusPublished(spot, oldStatus, newStatus, spot.getCurrentVehicle());
+        }
+    }
+
+    public int findFirstAvailable(int floor, SpotType spotType) {
+        FloorBlock block;
+        synchronized (this) {
+            block = floorBlocks.get(floor);
+        }
+        if (block == null) {
+            return NO_SPOT;
+        }
+        int first = block.starts[spotType.ordinal()];
+        int count = block.count(spotType.ordinal());
+        for (int handle = first; handle < first + count; handle++) {
+            if ((byte) STATUS.getVolatile(statuses, handle) == SpotStatus.AVAILABLE.ordinal()) {
+                return handle;
+            }
+        }
+        return NO_SPOT;
+    }
+
+    public ParkingSpot view(int handle) {
+        if (handle < 0 || handle >= size()) {
+            throw new IllegalArgumentException("Unknown spot handle: " + handle);
+        }
+        return viewOf(handle);
+    }
+
+    private SpotView viewOf(int handle) {
+        SpotView[] current = views;
+        if (current == null) {
+            synchronized (this) {
+                if (views == null) {
+                    views = new SpotView[statuses.length];
+                }
+                current = views;
+            }
+        }
+        SpotView view = (SpotView) VIEW.getAcquire(current, handle);
+        if (view == null) {
+            SpotView created = new SpotView(this, handle);
+            view = (SpotView) VIEW.compareAndExchangeRelease(current, handle, null, created);
+            if (view == null) {
+                view = created;
+            }
+        }
+        return view;
+    }
+
+    private static final class SpotView extends ParkingSpot {
+        private final CompactSpotStore store;
+        private final int handle;
+        private final String spotId;
+        private final int floor;
+        private final SpotType spotType;
+
+        SpotView(CompactSpotStore store, int handle) {
+            this.store = store;
+            this.handle = handle;
+            this.spotId = store.formatSpotId(handle);
+            this.floor = store.floorOf(handle);
+            this.spotType = store.typeOf(handle);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return store.statusOf(handle) == SpotStatus.AVAILABLE;
+        }
+
+        @Override
+        protected boolean tryOccupy(Vehicle vehicle, SpotStatus expectedStatus) {
+            return store.tryOccupy(handle, vehicle, expectedStatus, this);
+        }
+
+        @Override
+        protected boolean compareAndSetStatus(SpotStatus expectedStatus, SpotStatus newStatus) {
+            return store.compareAndSetStatus(handle, expectedStatus, newStatus, this);
+        }
+
+        @Override
+        public Vehicle free() {
+            return store.free(handle, this);
+        }
+
+        @Override
+        public void setStatus(SpotStatus status) {
+            store.setStatus(handle, status, this);
+        }
+
+        @Override
+        public void captureState(SpotStatus[] statuses, Vehicle[] vehicles, int index) {
+            synchronized (store.lockFor(handle)) {
+                statuses[index] = store.statusOf(handle);
+                vehicles[index] = store.occupantOf(handle);
+            }
+        }
+
+        @Override
+        Object transitionLock() {
+            return store.lockFor(handle);
+        }
+
+        @Override
+        public String getSpotId() {
+            return spotId;
+        }
+
+        @Override
+        public int getFloor() {
+            return floor;
+        }
+
+        @Override
+        public SpotType getSpotType() {
+            return spotType;
+        }
+
+        @Override
+        public double getBasePrice() {
+            return store.basePrice;
+        }
+
+        @Override
+        public SpotStatus getStatus() {
+            return store.statusOf(handle);
+        }
+
+        @Override
+        public Vehicle getCurrentVehicle() {
+            return store.occupantOf(handle);
+        }
+
+        @Override
+        public void setStatusListener(SpotStatusListener statusListener) {
+            store.setStatusListener(handle, statusListener);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SpotView && ((SpotView) other).store == store
+                    && ((SpotView) other).handle == handle;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(store) * 31 + handle;
+        }
+    }
+
+    private static final class FloorBlock {
+        private final int floor;
+        private final int[] starts;
+
+        FloorBlock(int floor, int[] starts) {
+            this.floor = floor;
+            this.starts = starts;
+        }
+
+        int count(int type) {
+            return starts[type + 1] - starts[type];
+        }
+
+        int end() {
+            return starts[starts.length - 1];
+        }
+
+        int typeOf(int handle) {
+            int type = 0;
+            while (handle >= starts[type + 1]) {
+                type++;
+            }
+            return type;
+        }
+    }
+
+    private static class OccupantTable {
+        private Vehicle[] vehicles = new Vehicle[8];
+        private int[] freeSlots = new int[8];
+        private int freeCount;
+        private int used;
+
+        int add(Vehicle vehicle) {
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (used == vehicles.length) {
+                    vehicles = Arrays.copyOf(vehicles, used * 2);
+                }
+                slot = used++;
+            }
+            vehicles[slot] = vehicle;
+            return slot;
+        }
+
+        Vehicle get(int slot) {
+            return slot != NO_OCCUPANT ? vehicles[slot] : null;
+        }
+
+        Vehicle remove(int slot) {
+            if (slot == NO_OCCUPANT) {
+                return null;
+            }
+            Vehicle vehicle = vehicles[slot];
+            vehicles[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            return vehicle;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package src.models.parking;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OccupancyCounters {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final SpotStatus[] STATUSES = SpotStatus.values();
+
+    private final ConcurrentSkipListMap<Integer, LongAdder[]> floors;
+
+    public OccupancyCounters() {
+        this.floors = new ConcurrentSkipListMap<>();
+    }
+
+    public void register(ParkingSpot spot) {
+        counter(spot.getFloor(), spot.getSpotType(), spot.getStatus()).increment();
+    }
+
+    public void unregister(ParkingSpot spot) {
+        counter(spot.getFloor(), spot.getSpotType(), spot.getStatus()).decrement();
+    }
+
+    public void transition(ParkingSpot spot, SpotStatus oldStatus, SpotStatus newStatus) {
+        counter(spot.getFloor(), spot.getSpotType(), oldStatus).decrement();
+        counter(spot.getFloor(), spot.getSpotType(), newStatus).increment();
+    }
+
+    public NavigableSet<Integer> getFloors() {
+        return floors.keySet();
+    }
+
+    public int count(int floor, SpotType spotType, SpotStatus status) {
+        LongAdder[] counters = floors.get(floor);
+        return counters != null ? (int) counters[slot(spotType, status)].sum() : 0;
+    }
+
+    public int count(int floor, SpotStatus status) {
+        LongAdder[] counters = floors.get(floor);
+        if (counters == null) {
+            return 0;
+        }
+        long total = 0;
+        for (SpotType spotType : SPOT_TYPES) {
+            total += counters[slot(spotType, status)].sum();
+        }
+        return (int) total;
+    }
+
+    public int total(int floor, SpotType spotType) {
+        LongAdder[] counters = floors.get(floor);
+        if (counters == null) {
+            return 0;
+        }
+        long total = 0;
+        for (SpotStatus status : STATUSES) {
+            total += counters[slot(spotType, status)].sum();
+        }
+        return (int) total;
+    }
+
+    public int total(int floor) {
+        LongAdder[] counters = floors.get(floor);
+        if (counters == null) {
+            return 0;
+        }
+        long total = 0;
+        for (LongAdder counter : counters) {
+            total += counter.sum();
+        }
+        return (int) total;
+    }
+
+    private LongAdder counter(int floor, SpotType spotType, SpotStatus status) {
+        LongAdder[] counters = floors.get(floor);
+        if (counters == null) {
+            counters = floors.computeIfAbsent(floor, f -> newCounters());
+        }
+        return counters[slot(spotType, status)];
+    }
+
+    private static int slot(SpotType spotType, SpotStatus status) {
+        return spotType.ordinal() * STATUSES.length + status.ordinal();
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[SPOT_TYPES.length * STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -3,43 +3,125 @@ package src.models.parking;
 import src.enums.SpotType;
 import src.enums.SpotStatus;
 import src.models.vehicles.Vehicle;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class ParkingSpot {
+    private static final AtomicLongFieldUpdater<ParkingSpot> STATE =
+            AtomicLongFieldUpdater.newUpdater(ParkingSpot.class, "state");
+    private static final AtomicReferenceFieldUpdater<ParkingSpot, Notice> NOTICES =
+            AtomicReferenceFieldUpdater.newUpdater(ParkingSpot.class, Notice.class, "notices");
+    private static final AtomicIntegerFieldUpdater<ParkingSpot> DELIVERING =
+            AtomicIntegerFieldUpdater.newUpdater(ParkingSpot.class, "delivering");
+    private static final SpotStatus[] STATUSES = SpotStatus.values();
+    private static final int STATUS_BITS = 8;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final int SPINS_BEFORE_YIELD = 64;
+
     private final String spotId;
     private final int floor;
     private final SpotType spotType;
-    private SpotStatus status;
-    private Vehicle currentVehicle;
+    private volatile long state;
+    private volatile long completedTransitions;
+    private volatile Thread sequencer;
+    private volatile Vehicle currentVehicle;
     private final double basePrice;
+    private volatile SpotStatusListener statusListener;
+    private volatile Notice notices;
+    private volatile int delivering;
 
     public ParkingSpot(String spotId, int floor, SpotType spotType, double basePrice) {
         this.spotId = spotId;
         this.floor = floor;
         this.spotType = spotType;
-        this.status = SpotStatus.AVAILABLE;
+        this.state = SpotStatus.AVAILABLE.ordinal();
         this.basePrice = basePrice;
     }
 
+    protected ParkingSpot() {
+        this.spotId = null;
+        this.floor = 0;
+        this.spotType = null;
+        this.basePrice = 0.0;
+    }
+
     public boolean isAvailable() {
-        return status == SpotStatus.AVAILABLE;
+        return statusOf(state) == SpotStatus.AVAILABLE;
     }
 
     public boolean canAccommodate(Vehicle vehicle) {
-        return isAvailable() && vehicle.canFitInSpot(spotType);
+        return isAvailable() && vehicle.canFitInSpot(getSpotType());
     }
 
     public void occupy(Vehicle vehicle) {
-        if (!canAccommodate(vehicle)) {
+        if (!tryOccupy(vehicle)) {
             throw new IllegalStateException("Cannot occupy spot: " + spotId);
         }
-        this.currentVehicle = vehicle;
-        this.status = SpotStatus.OCCUPIED;
+    }
+
+    public boolean tryOccupy(Vehicle vehicle) {
+        return tryOccupy(vehicle, SpotStatus.AVAILABLE);
+    }
+
+    public boolean tryOccupyReserved(Vehicle vehicle) {
+        return tryOccupy(vehicle, SpotStatus.RESERVED);
+    }
+
+    public boolean tryReserve() {
+        return compareAndSetStatus(SpotStatus.AVAILABLE, SpotStatus.RESERVED);
+    }
+
+    public boolean releaseReservation() {
+        return compareAndSetStatus(SpotStatus.RESERVED, SpotStatus.AVAILABLE);
+    }
+
+    protected boolean tryOccupy(Vehicle vehicle, SpotStatus expectedStatus) {
+        if (!vehicle.canFitInSpot(spotType)) {
+            return false;
+        }
+        long previous = compareAndTransition(expectedStatus, SpotStatus.OCCUPIED);
+        if (previous < 0) {
+            return false;
+        }
+        Thread owner = awaitTurn(previous);
+        try {
+            currentVehicle = vehicle;
+            notifyListener(expectedStatus, SpotStatus.OCCUPIED);
+        } finally {
+            finishTurn(previous, owner);
+        }
+        deliverNotices();
+        return true;
+    }
+
+    protected boolean compareAndSetStatus(SpotStatus expectedStatus, SpotStatus newStatus) {
+        long previous = compareAndTransition(expectedStatus, newStatus);
+        if (previous < 0) {
+            return false;
+        }
+        Thread owner = awaitTurn(previous);
+        try {
+            notifyListener(expectedStatus, newStatus);
+        } finally {
+            finishTurn(previous, owner);
+        }
+        deliverNotices();
+        return true;
     }
 
     public Vehicle free() {
-        Vehicle vehicle = currentVehicle;
-        currentVehicle = null;
-        status = SpotStatus.AVAILABLE;
+        long previous = transition(SpotStatus.AVAILABLE);
+        Thread owner = awaitTurn(previous);
+        Vehicle vehicle;
+        try {
+            vehicle = currentVehicle;
+            currentVehicle = null;
+            notifyListener(statusOf(previous), SpotStatus.AVAILABLE);
+        } finally {
+            finishTurn(previous, owner);
+        }
+        deliverNotices();
         return vehicle;
     }
 
@@ -56,7 +138,7 @@ public class ParkingSpot {
     }
 
     public SpotStatus getStatus() {
-        return status;
+        return statusOf(state);
     }
 
     public Vehicle getCurrentVehicle() {
@@ -68,12 +150,158 @@ public class ParkingSpot {
     }
 
     public void setStatus(SpotStatus status) {
-        this.status = status;
+        long previous = transition(status);
+        Thread owner = awaitTurn(previous);
+        try {
+            notifyListener(statusOf(previous), status);
+        } finally {
+            finishTurn(previous, owner);
+        }
+        deliverNotices();
+    }
+
+    public void setStatusListener(SpotStatusListener statusListener) {
+        this.statusListener = statusListener;
+    }
+
+    public void captureState(SpotStatus[] statuses, Vehicle[] vehicles, int index) {
+        for (int spins = 0; ; spins++) {
+            long completed = completedTransitions;
+            long current = state;
+            Vehicle vehicle = currentVehicle;
+            if (sequenceOf(current) == completed && state == current) {
+                statuses[index] = statusOf(current);
+                vehicles[index] = vehicle;
+                return;
+            }
+            backOff(spins);
+        }
+    }
+
+    Object transitionLock() {
+        return this;
+    }
+
+    private long compareAndTransition(SpotStatus expectedStatus, SpotStatus newStatus) {
+        long current;
+        do {
+            current = state;
+            if (statusOf(current) != expectedStatus) {
+                return -1;
+            }
+        } while (!STATE.compareAndSet(this, current, next(current, newStatus)));
+        return current;
+    }
+
+    private long transition(SpotStatus newStatus) {
+        long current;
+        do {
+            current = state;
+        } while (!STATE.compareAndSet(this, current, next(current, newStatus)));
+        return current;
+    }
+
+    private Thread awaitTurn(long previous) {
+        Thread current = Thread.currentThread();
+        long sequence = sequenceOf(previous);
+        for (int spins = 0; completedTransitions < sequence && sequencer != current; spins++) {
+            backOff(spins);
+        }
+        Thread owner = sequencer == current ? current : null;
+        sequencer = current;
+        return owner;
+    }
+
+    private void finishTurn(long previous, Thread owner) {
+        sequencer = owner;
+        long sequence = sequenceOf(previous) + 1;
+        if (completedTransitions < sequence) {
+            completedTransitions = sequence;
+        }
+    }
+
+    private void notifyListener(SpotStatus oldStatus, SpotStatus newStatus) {
+        SpotStatusListener listener = statusListener;
+        if (listener != null && oldStatus != newStatus) {
+            listener.onStatusChanged(this, oldStatus, newStatus);
+            Notice notice = new Notice(listener, oldStatus, newStatus, currentVehicle);
+            do {
+                notice.next = notices;
+            } while (!NOTICES.compareAndSet(this, notice.next, notice));
+        }
+    }
+
+    private void deliverNotices() {
+        RuntimeException failure = null;
+        while (notices != null && DELIVERING.compareAndSet(this, 0, 1)) {
+            try {
+                Notice pending;
+                while ((pending = NOTICES.getAndSet(this, null)) != null) {
+                    Notice ordered = null;
+                    while (pending != null) {
+                        Notice next = pending.next;
+                        pending.next = ordered;
+                        ordered = pending;
+                        pending = next;
+                    }
+                    for (; ordered != null; ordered = ordered.next) {
+                        try {
+                            ordered.listener.onStatusPublished(this, ordered.oldStatus, ordered.newStatus,
+                                    ordered.vehicle);
+                        } catch (RuntimeException e) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                delivering = 0;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long next(long current, SpotStatus newStatus) {
+        return ((sequenceOf(current) + 1) << STATUS_BITS) | newStatus.ordinal();
+    }
+
+    private static long sequenceOf(long state) {
+        return state >>> STATUS_BITS;
+    }
+
+    private static SpotStatus statusOf(long state) {
+        return STATUSES[(int) (state & STATUS_MASK)];
+    }
+
+    private static void backOff(int spins) {
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
     }
 
     @Override
     public String toString() {
         return String.format("Spot[%s] Floor:%d Type:%s Status:%s",
-                spotId, floor, spotType, status);
+                getSpotId(), getFloor(), getSpotType(), getStatus());
+    }
+
+    private static final class Notice {
+        private final SpotStatusListener listener;
+        private final SpotStatus oldStatus;
+        private final SpotStatus newStatus;
+        private final Vehicle vehicle;
+        private Notice next;
+
+        Notice(SpotStatusListener listener, SpotStatus oldStatus, SpotStatus newStatus, Vehicle vehicle) {
+            this.listener = listener;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+            this.vehicle = vehicle;
+        }
     }
 }
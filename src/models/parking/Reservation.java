@@ -0,0 +1,60 @@
+package src.models.parking;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class Reservation {
+    private final String reservationId;
+    private final String licensePlate;
+    private final ParkingSpot spot;
+    private final long createdAtMillis;
+    private final long expiresAtMillis;
+    private final AtomicBoolean completed;
+
+    public Reservation(String reservationId, String licensePlate, ParkingSpot spot, long createdAtMillis,
+            long expiresAtMillis) {
+        this.reservationId = reservationId;
+        this.licensePlate = licensePlate;
+        this.spot = spot;
+        this.createdAtMillis = createdAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.completed = new AtomicBoolean();
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    public boolean tryComplete() {
+        return completed.compareAndSet(false, true);
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Reservation[%s] Plate:%s Spot:%s Expires:%d",
+                reservationId, licensePlate, spot.getSpotId(), expiresAtMillis);
+    }
+}
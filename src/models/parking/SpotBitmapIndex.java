@@ -0,0 +1,336 @@
+package src.models.parking;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class SpotBitmapIndex {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_SHIFT) / Long.SIZE;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final SpotStatus[] STATUSES = SpotStatus.values();
+
+    private final Map<ParkingSpot, Integer> ordinals;
+    private final Map<Integer, Bitmap> byFloor;
+    private final Bitmap registered;
+    private final Bitmap[] byStatus;
+    private final Bitmap[] byType;
+    private final AtomicReferenceArray<Bitmap> byFit;
+    private volatile ParkingSpot[] spots;
+    private int size;
+
+    public SpotBitmapIndex() {
+        this.ordinals = new ConcurrentHashMap<>();
+        this.byFloor = new ConcurrentHashMap<>();
+        this.registered = new Bitmap();
+        this.byStatus = newBitmaps(STATUSES.length);
+        this.byType = newBitmaps(SPOT_TYPES.length);
+        this.byFit = new AtomicReferenceArray<>(1 << SPOT_TYPES.length);
+        this.spots = new ParkingSpot[64];
+    }
+
+    public synchronized void register(ParkingSpot spot) {
+        if (ordinals.containsKey(spot)) {
+            return;
+        }
+        int ordinal = size++;
+        if (ordinal == spots.length) {
+            spots = Arrays.copyOf(spots, ordinal * 2);
+        }
+        spots[ordinal] = spot;
+
+        int type = spot.getSpotType().ordinal();
+        registered.ensure(ordinal).set(ordinal);
+        byType[type].ensure(ordinal).set(ordinal);
+        byFloor.computeIfAbsent(spot.getFloor(), f -> new Bitmap()).ensure(ordinal).set(ordinal);
+        for (int mask = 0; mask < byFit.length(); mask++) {
+            Bitmap fit = byFit.get(mask);
+            if (fit != null && (mask & (1 << type)) != 0) {
+                fit.ensure(ordinal).set(ordinal);
+            }
+        }
+        for (Bitmap status : byStatus) {
+            status.ensure(ordinal);
+        }
+        synchronized (spot.transitionLock()) {
+            ordinals.put(spot, ordinal);
+            byStatus[spot.getStatus().ordinal()].set(ordinal);
+        }
+    }
+
+    public synchronized void unregister(ParkingSpot spot) {
+        Integer ordinal;
+        synchronized (spot.transitionLock()) {
+            ordinal = ordinals.remove(spot);
+            if (ordinal == null) {
+                return;
+            }
+            for (Bitmap status : byStatus) {
+                status.clear(ordinal);
+            }
+        }
+        registered.clear(ordinal);
+        byType[spot.getSpotType().ordinal()].clear(ordinal);
+        byFloor.get(spot.getFloor()).clear(ordinal);
+        for (int mask = 0; mask < byFit.length(); mask++) {
+            Bitmap fit = byFit.get(mask);
+            if (fit != null) {
+                fit.clear(ordinal);
+            }
+        }
+        spots[ordinal] = null;
+    }
+
+    public void refresh(ParkingSpot spot) {
+        synchronized (spot.transitionLock()) {
+            Integer ordinal = ordinals.get(spot);
+            if (ordinal == null) {
+                return;
+            }
+            SpotStatus current = spot.getStatus();
+            for (SpotStatus status : STATUSES) {
+                Bitmap bitmap = byStatus[status.ordinal()];
+                boolean present = bitmap.get(ordinal);
+                if (status == current && !present) {
+                    bitmap.set(ordinal);
+                } else if (status != current && present) {
+                    bitmap.clear(ordinal);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    public int count(SpotQuery query) {
+        long[][][] operands = resolve(query);
+        if (operands == null) {
+            return 0;
+        }
+        long[][] chunkWords = new long[operands.length][];
+        int count = 0;
+        for (int chunk = 0; chunk < chunkCount(operands); chunk++) {
+            if (!selectChunk(operands, chunk, chunkWords)) {
+                continue;
+            }
+            count += countChunk(chunkWords);
+        }
+        return count;
+    }
+
+    private static int countChunk(long[][] chunkWords) {
+        int count = 0;
+        switch (chunkWords.length) {
+            case 1: {
+                long[] a = chunkWords[0];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    count += Long.bitCount(a[w]);
+                }
+                return count;
+            }
+            case 2: {
+                long[] a = chunkWords[0];
+                long[] b = chunkWords[1];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    count += Long.bitCount(a[w] & b[w]);
+                }
+                return count;
+            }
+            case 3: {
+                long[] a = chunkWords[0];
+                long[] b = chunkWords[1];
+                long[] c = chunkWords[2];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    count += Long.bitCount(a[w] & b[w] & c[w]);
+                }
+                return count;
+            }
+            default:
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    count += Long.bitCount(intersect(chunkWords, w));
+                }
+                return count;
+        }
+    }
+
+    public List<ParkingSpot> find(SpotQuery query) {
+        return find(query, Integer.MAX_VALUE);
+    }
+
+    public List<ParkingSpot> find(SpotQuery query, int limit) {
+        List<ParkingSpot> result = new ArrayList<>();
+        long[][][] operands = resolve(query);
+        if (operands == null || limit <= 0) {
+            return result;
+        }
+        long[][] chunkWords = new long[operands.length][];
+        for (int chunk = 0; chunk < chunkCount(operands); chunk++) {
+            if (!selectChunk(operands, chunk, chunkWords)) {
+                continue;
+            }
+            ParkingSpot[] current = spots;
+            for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                long word = intersect(chunkWords, w);
+                while (word != 0) {
+                    int ordinal = (chunk << CHUNK_SHIFT) + w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    ParkingSpot spot = ordinal < current.length ? current[ordinal] : null;
+                    if (spot != null) {
+                        result.add(spot);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private long[][][] resolve(SpotQuery query) {
+        List<Bitmap> bitmaps = new ArrayList<>(4);
+        if (query.getStatus() != null) {
+            bitmaps.add(byStatus[query.getStatus().ordinal()]);
+        }
+        if (query.getFloor() != SpotQuery.ANY_FLOOR) {
+            Bitmap floor = byFloor.get(query.getFloor());
+            if (floor == null) {
+                return null;
+            }
+            bitmaps.add(floor);
+        }
+        if (query.getSpotType() != null) {
+            bitmaps.add(byType[query.getSpotType().ordinal()]);
+        }
+        if (query.getFitMask() != SpotQuery.ANY_FIT) {
+            if (query.getFitMask() == 0) {
+                return null;
+            }
+            bitmaps.add(fitBitmap(query.getFitMask()));
+        }
+        if (bitmaps.isEmpty()) {
+            bitmaps.add(registered);
+        }
+
+        long[][][] operands = new long[bitmaps.size()][][];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = bitmaps.get(i).chunks;
+        }
+        return operands;
+    }
+
+    private Bitmap fitBitmap(int mask) {
+        Bitmap fit = byFit.get(mask);
+        if (fit != null) {
+            return fit;
+        }
+        synchronized (this) {
+            fit = byFit.get(mask);
+            if (fit == null) {
+                fit = new Bitmap();
+                for (SpotType type : SPOT_TYPES) {
+                    if ((mask & (1 << type.ordinal())) != 0) {
+                        fit.or(byType[type.ordinal()]);
+                    }
+                }
+                byFit.set(mask, fit);
+            }
+            return fit;
+        }
+    }
+
+    private static int chunkCount(long[][][] operands) {
+        int count = Integer.MAX_VALUE;
+        for (long[][] chunks : operands) {
+            count = Math.min(count, chunks.length);
+        }
+        return count;
+    }
+
+    private static boolean selectChunk(long[][][] operands, int chunk, long[][] chunkWords) {
+        for (int i = 0; i < operands.length; i++) {
+            chunkWords[i] = operands[i][chunk];
+            if (chunkWords[i] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long intersect(long[][] chunkWords, int w) {
+        long word = chunkWords[0][w];
+        for (int i = 1; i < chunkWords.length; i++) {
+            word &= chunkWords[i][w];
+        }
+        return word;
+    }
+
+    private static Bitmap[] newBitmaps(int count) {
+        Bitmap[] bitmaps = new Bitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new Bitmap();
+        }
+        return bitmaps;
+    }
+
+    private static class Bitmap {
+        private volatile long[][] chunks = new long[0][];
+
+        Bitmap ensure(int bit) {
+            int chunk = bit >>> CHUNK_SHIFT;
+            long[][] current = chunks;
+            if (chunk >= current.length) {
+                current = Arrays.copyOf(current, chunk + 1);
+            }
+            if (current[chunk] == null) {
+                current[chunk] = new long[WORDS_PER_CHUNK];
+            }
+            chunks = current;
+            return this;
+        }
+
+        boolean get(int bit) {
+            long[] words = chunks[bit >>> CHUNK_SHIFT];
+            return (words[wordOf(bit)] & (1L << bit)) != 0;
+        }
+
+        void set(int bit) {
+            WORDS.getAndBitwiseOr(chunks[bit >>> CHUNK_SHIFT], wordOf(bit), 1L << bit);
+        }
+
+        void clear(int bit) {
+            long[][] current = chunks;
+            int chunk = bit >>> CHUNK_SHIFT;
+            if (chunk < current.length && current[chunk] != null) {
+                WORDS.getAndBitwiseAnd(current[chunk], wordOf(bit), ~(1L << bit));
+            }
+        }
+
+        void or(Bitmap other) {
+            long[][] source = other.chunks;
+            for (int chunk = 0; chunk < source.length; chunk++) {
+                if (source[chunk] == null) {
+                    continue;
+                }
+                long[] words = ensure(chunk << CHUNK_SHIFT).chunks[chunk];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    words[w] |= source[chunk][w];
+                }
+            }
+        }
+
+        private static int wordOf(int bit) {
+            return (bit >>> 6) & (WORDS_PER_CHUNK - 1);
+        }
+    }
+}
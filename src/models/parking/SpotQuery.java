@@ -0,0 +1,96 @@
+package src.models.parking;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import src.models.vehicles.Vehicle;
+
+public class SpotQuery {
+    static final int ANY_FLOOR = Integer.MIN_VALUE;
+    static final int ANY_FIT = -1;
+
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final SpotQuery ALL = new SpotQuery(null, ANY_FLOOR, null, ANY_FIT);
+
+    private final SpotStatus status;
+    private final int floor;
+    private final SpotType spotType;
+    private final int fitMask;
+
+    private SpotQuery(SpotStatus status, int floor, SpotType spotType, int fitMask) {
+        this.status = status;
+        this.floor = floor;
+        this.spotType = spotType;
+        this.fitMask = fitMask;
+    }
+
+    public static SpotQuery all() {
+        return ALL;
+    }
+
+    public static SpotQuery available() {
+        return ALL.withStatus(SpotStatus.AVAILABLE);
+    }
+
+    public SpotQuery withStatus(SpotStatus status) {
+        return new SpotQuery(status, floor, spotType, fitMask);
+    }
+
+    public SpotQuery withFloor(int floor) {
+        if (floor == ANY_FLOOR) {
+            throw new IllegalArgumentException("Invalid floor: " + floor);
+        }
+        return new SpotQuery(status, floor, spotType, fitMask);
+    }
+
+    public SpotQuery withSpotType(SpotType spotType) {
+        return new SpotQuery(status, floor, spotType, fitMask);
+    }
+
+    public SpotQuery withVehicle(Vehicle vehicle) {
+        return new SpotQuery(status, floor, spotType, fitMaskOf(vehicle));
+    }
+
+    static int fitMaskOf(Vehicle vehicle) {
+        int mask = 0;
+        for (SpotType type : SPOT_TYPES) {
+            if (vehicle.canFitInSpot(type)) {
+                mask |= 1 << type.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    SpotStatus getStatus() {
+        return status;
+    }
+
+    int getFloor() {
+        return floor;
+    }
+
+    SpotType getSpotType() {
+        return spotType;
+    }
+
+    int getFitMask() {
+        return fitMask;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SpotQuery[");
+        if (status != null) {
+            sb.append("status=").append(status).append(' ');
+        }
+        if (floor != ANY_FLOOR) {
+            sb.append("floor=").append(floor).append(' ');
+        }
+        if (spotType != null) {
+            sb.append("type=").append(spotType).append(' ');
+        }
+        if (fitMask != ANY_FIT) {
+            sb.append("fits=").append(Integer.toBinaryString(fitMask)).append(' ');
+        }
+        return sb.toString().trim() + "]";
+    }
+}
@@ -0,0 +1,11 @@
+package src.models.parking;
+
+import src.enums.SpotStatus;
+import src.models.vehicles.Vehicle;
+
+public interface SpotStatusListener {
+    void onStatusChanged(ParkingSpot spot, SpotStatus oldStatus, SpotStatus newStatus);
+
+    default void onStatusPublished(ParkingSpot spot, SpotStatus oldStatus, SpotStatus newStatus, Vehicle vehicle) {
+    }
+}
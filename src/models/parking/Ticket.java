@@ -1,38 +1,98 @@
 package src.models.parking;
 
 import src.models.vehicles.Vehicle;
+import src.strategies.ticketing.MonotonicTicketIdGenerator;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class Ticket {
+    private static final Clock SYSTEM_CLOCK = Clock.systemDefaultZone();
+    private static final AtomicReferenceFieldUpdater<Ticket, Detached> DETACHED =
+            AtomicReferenceFieldUpdater.newUpdater(Ticket.class, Detached.class, "detached");
+
     private final String ticketId;
-    private final Vehicle vehicle;
-    private final ParkingSpot assignedSpot;
-    private final String entryGate;
-    private final LocalDateTime entryTime;
-    private LocalDateTime exitTime;
-    private double totalAmount;
-    private boolean isPaid;
+    private final ActiveTicketTable.Segment segment;
+    private final int slot;
+    private volatile Detached detached;
 
     public Ticket(Vehicle vehicle, ParkingSpot assignedSpot, String entryGate) {
-        this.ticketId = UUID.randomUUID().toString().substring(0, 8);
-        this.vehicle = vehicle;
-        this.assignedSpot = assignedSpot;
-        this.entryGate = entryGate;
-        this.entryTime = LocalDateTime.now();
-        this.isPaid = false;
-        this.totalAmount = 0.0;
+        this(MonotonicTicketIdGenerator.getDefault().nextId(), vehicle, assignedSpot, entryGate,
+                SYSTEM_CLOCK.millis());
+    }
+
+    public Ticket(String ticketId, Vehicle vehicle, ParkingSpot assignedSpot, String entryGate,
+            LocalDateTime entryTime) {
+        this(ticketId, vehicle, assignedSpot, entryGate, entryTime, SYSTEM_CLOCK);
+    }
+
+    public Ticket(String ticketId, Vehicle vehicle, ParkingSpot assignedSpot, String entryGate,
+            LocalDateTime entryTime, Clock clock) {
+        this(ticketId, vehicle, assignedSpot, entryGate,
+                entryTime.atZone(clock.getZone()).toInstant().toEpochMilli(), clock);
+    }
+
+    public Ticket(String ticketId, Vehicle vehicle, ParkingSpot assignedSpot, String entryGate,
+            long entryEpochMillis) {
+        this(ticketId, vehicle, assignedSpot, entryGate, entryEpochMillis, SYSTEM_CLOCK);
+    }
+
+    public Ticket(String ticketId, Vehicle vehicle, ParkingSpot assignedSpot, String entryGate,
+            long entryEpochMillis, Clock clock) {
+        this.ticketId = ticketId;
+        this.segment = null;
+        this.slot = -1;
+        this.detached = new Detached(vehicle, assignedSpot, entryGate, entryEpochMillis, clock);
+    }
+
+    Ticket(String ticketId, ActiveTicketTable.Segment segment, int slot) {
+        this.ticketId = ticketId;
+        this.segment = segment;
+        this.slot = slot;
+    }
+
+    void detach(Vehicle vehicle, ParkingSpot assignedSpot, String entryGate, long entryEpochMillis, Clock clock) {
+        DETACHED.compareAndSet(this, null, new Detached(vehicle, assignedSpot, entryGate, entryEpochMillis, clock));
+    }
+
+    public boolean isActive() {
+        return detached == null;
     }
 
     public void completeExit(double amount) {
-        this.exitTime = LocalDateTime.now();
-        this.totalAmount = amount;
-        this.isPaid = true;
+        for (;;) {
+            Detached state = detached;
+            Detached current = state != null ? state
+                    : new Detached(getVehicle(), getAssignedSpot(), getEntryGate(), getEntryEpochMillis(),
+                            segment.clock());
+            if (DETACHED.compareAndSet(this, state, current.paid(current.clock.millis(), amount))) {
+                return;
+            }
+        }
     }
 
     public long getParkingDurationMinutes() {
-        LocalDateTime endTime = exitTime != null ? exitTime : LocalDateTime.now();
-        return java.time.Duration.between(entryTime, endTime).toMinutes();
+        return getParkingDurationMillis() / 60_000;
+    }
+
+    public long getParkingDurationMillis() {
+        Detached state = detached;
+        if (state == null) {
+            long entryEpochMillis = segment.entryEpochMillis(this, slot);
+            state = detached;
+            if (state == null) {
+                return segment.clockMillis() - entryEpochMillis;
+            }
+        }
+        long endMillis = state.isPaid ? state.exitEpochMillis : state.clock.millis();
+        return endMillis - state.entryEpochMillis;
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        Detached state = detached;
+        Clock clock = state != null ? state.clock : segment.clock();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
     }
 
     public String getTicketId() {
@@ -40,37 +100,101 @@ public class Ticket {
     }
 
     public Vehicle getVehicle() {
-        return vehicle;
+        Detached state = detached;
+        return state != null ? state.vehicle : segment.vehicle(this, slot);
     }
 
     public ParkingSpot getAssignedSpot() {
-        return assignedSpot;
+        Detached state = detached;
+        return state != null ? state.assignedSpot : segment.spot(this, slot);
     }
 
     public String getEntryGate() {
-        return entryGate;
+        Detached state = detached;
+        return state != null ? state.entryGate : segment.entryGate(this, slot);
     }
 
     public LocalDateTime getEntryTime() {
-        return entryTime;
+        return toLocalDateTime(getEntryEpochMillis());
+    }
+
+    public long getEntryEpochMillis() {
+        Detached state = detached;
+        return state != null ? state.entryEpochMillis : segment.entryEpochMillis(this, slot);
+    }
+
+    Vehicle detachedVehicle() {
+        return detached.vehicle;
+    }
+
+    ParkingSpot detachedSpot() {
+        return detached.assignedSpot;
+    }
+
+    String detachedEntryGate() {
+        return detached.entryGate;
+    }
+
+    long detachedEntryEpochMillis() {
+        return detached.entryEpochMillis;
     }
 
     public LocalDateTime getExitTime() {
-        return exitTime;
+        Detached state = detached;
+        return state != null && state.isPaid ? toLocalDateTime(state.exitEpochMillis) : null;
+    }
+
+    public long getExitEpochMillis() {
+        Detached state = detached;
+        return state != null ? state.exitEpochMillis : 0;
     }
 
     public double getTotalAmount() {
-        return totalAmount;
+        Detached state = detached;
+        return state != null ? state.totalAmount : 0.0;
     }
 
     public boolean isPaid() {
-        return isPaid;
+        Detached state = detached;
+        return state != null && state.isPaid;
     }
 
     @Override
     public String toString() {
         return String.format("Ticket[%s] Vehicle:%s Spot:%s Entry:%s Duration:%dmin Amount:$%.2f",
-                ticketId, vehicle.getLicensePlate(), assignedSpot.getSpotId(),
-                entryGate, getParkingDurationMinutes(), totalAmount);
+                ticketId, getVehicle().getLicensePlate(), getAssignedSpot().getSpotId(),
+                getEntryGate(), getParkingDurationMinutes(), getTotalAmount());
+    }
+
+    private static final class Detached {
+        private final Vehicle vehicle;
+        private final ParkingSpot assignedSpot;
+        private final String entryGate;
+        private final long entryEpochMillis;
+        private final Clock clock;
+        private final long exitEpochMillis;
+        private final double totalAmount;
+        private final boolean isPaid;
+
+        Detached(Vehicle vehicle, ParkingSpot assignedSpot, String entryGate, long entryEpochMillis, Clock clock) {
+            this(vehicle, assignedSpot, entryGate, entryEpochMillis, clock, 0, 0.0, false);
+        }
+
+        private Detached(Vehicle vehicle, ParkingSpot assignedSpot, String entryGate, long entryEpochMillis,
+                Clock clock, long exitEpochMillis, double totalAmount, boolean isPaid) {
+            this.vehicle = vehicle;
+            this.assignedSpot = assignedSpot;
+            this.entryGate = entryGate;
+            this.entryEpochMillis = entryEpochMillis;
+            this.clock = clock;
+            this.exitEpochMillis = exitEpochMillis;
+            this.totalAmount = totalAmount;
+            this.isPaid = isPaid;
+        }
+
+        Detached paid(long exitEpochMillis, double totalAmount) {
+            return new Detached(vehicle, assignedSpot, entryGate, entryEpochMillis, clock, exitEpochMillis,
+                    totalAmount, true);
+        }
     }
 }
@@ -0,0 +1,26 @@
+package src.models.requests;
+
+import src.models.vehicles.Vehicle;
+
+public class EntryRequest {
+    private final Vehicle vehicle;
+    private final String gateId;
+
+    public EntryRequest(Vehicle vehicle, String gateId) {
+        this.vehicle = vehicle;
+        this.gateId = gateId;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntryRequest[%s] Gate:%s", vehicle.getLicensePlate(), gateId);
+    }
+}
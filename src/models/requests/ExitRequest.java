@@ -0,0 +1,24 @@
+package src.models.requests;
+
+public class ExitRequest {
+    private final String ticketId;
+    private final String gateId;
+
+    public ExitRequest(String ticketId, String gateId) {
+        this.ticketId = ticketId;
+        this.gateId = gateId;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExitRequest[%s] Gate:%s", ticketId, gateId);
+    }
+}
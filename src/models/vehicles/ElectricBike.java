@@ -4,17 +4,23 @@ import src.enums.VehicleType;
 import src.enums.SpotType;
 
 public class ElectricBike extends Vehicle {
-    private boolean needsCharging;
+    private volatile boolean needsCharging;
 
     public ElectricBike(String licensePlate, String ownerName, boolean needsCharging) {
         super(licensePlate, VehicleType.ELECTRIC_BIKE, ownerName);
         this.needsCharging = needsCharging;
     }
 
+    @Override
     public boolean needsCharging() {
         return needsCharging;
     }
 
+    @Override
+    public void markCharged() {
+        needsCharging = false;
+    }
+
     @Override
     public boolean canFitInSpot(SpotType spotType) {
         if (needsCharging) {
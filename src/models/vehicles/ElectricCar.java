@@ -4,17 +4,23 @@ import src.enums.VehicleType;
 import src.enums.SpotType;
 
 public class ElectricCar extends Vehicle {
-    private boolean needsCharging;
+    private volatile boolean needsCharging;
 
     public ElectricCar(String licensePlate, String ownerName, boolean needsCharging) {
         super(licensePlate, VehicleType.ELECTRIC_CAR, ownerName);
         this.needsCharging = needsCharging;
     }
 
+    @Override
     public boolean needsCharging() {
         return needsCharging;
     }
 
+    @Override
+    public void markCharged() {
+        needsCharging = false;
+    }
+
     @Override
     public boolean canFitInSpot(SpotType spotType) {
         if (needsCharging) {
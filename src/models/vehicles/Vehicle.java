@@ -25,6 +25,13 @@ public abstract class Vehicle {
         return ownerName;
     }
 
+    public boolean needsCharging() {
+        return false;
+    }
+
+    public void markCharged() {
+    }
+
     public abstract boolean canFitInSpot(src.enums.SpotType spotType);
 
     @Override
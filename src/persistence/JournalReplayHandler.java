@@ -0,0 +1,13 @@
+package src.persistence;
+
+import src.enums.SpotStatus;
+import src.enums.VehicleType;
+
+public interface JournalReplayHandler {
+    void onPark(String ticketId, VehicleType vehicleType, String licensePlate, String ownerName,
+            boolean needsCharging, String spotId, String entryGate, long entryEpochMillis);
+
+    void onExit(String ticketId);
+
+    void onSpotStatus(String spotId, SpotStatus status);
+}
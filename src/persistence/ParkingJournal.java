@@ -0,0 +1,530 @@
+package src.persistence;
+
+import src.enums.SpotStatus;
+import src.enums.VehicleType;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class ParkingJournal implements Closeable {
+    private static final int MAGIC = 0x504B4A31;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int INITIAL_CAPACITY = 16 * 1024 * 1024;
+
+    private static final byte PARK = 1;
+    private static final byte EXIT = 2;
+    private static final byte SPOT_STATUS = 3;
+
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final SpotStatus[] STATUSES = SpotStatus.values();
+
+    private final Path directory;
+    private final long snapshotEveryRecords;
+    private final ScheduledExecutorService flusher;
+    private volatile SnapshotSource snapshotSource;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private int position;
+    private int flushedPosition;
+    private long appendedRecords;
+    private long durableRecords;
+    private long recordsSinceSnapshot;
+    private boolean recovered;
+    private boolean snapshotInProgress;
+    private boolean closed;
+    private IOException failure;
+
+    public ParkingJournal(Path directory) throws IOException {
+        this(directory, 5, 100_000);
+    }
+
+    public ParkingJournal(Path directory, long groupCommitMillis, long snapshotEveryRecords) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::groupCommit, groupCommitMillis, groupCommitMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void setSnapshotSource(SnapshotSource snapshotSource) {
+        this.snapshotSource = snapshotSource;
+    }
+
+    public synchronized void replay(JournalReplayHandler handler) throws IOException {
+        if (recovered) {
+            throw new IllegalStateException("Journal already replayed");
+        }
+
+        long snapshotGeneration = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            ByteBuffer snapshotBuffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            snapshotGeneration = readHeader(snapshotBuffer);
+            readRecords(snapshotBuffer, handler);
+        }
+
+        List<Long> generations = journalGenerations();
+        for (long journalGeneration : generations) {
+            if (journalGeneration <= snapshotGeneration) {
+                Files.deleteIfExists(journalPath(journalGeneration));
+                continue;
+            }
+            try (FileChannel journalChannel = FileChannel.open(journalPath(journalGeneration),
+                    StandardOpenOption.READ)) {
+                ByteBuffer journalBuffer = journalChannel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        journalChannel.size());
+                readHeader(journalBuffer);
+                readRecords(journalBuffer, handler);
+            }
+        }
+
+        long lastGeneration = generations.isEmpty() ? snapshotGeneration
+                : Math.max(snapshotGeneration, generations.get(generations.size() - 1));
+        openJournal(lastGeneration + 1);
+        recovered = true;
+    }
+
+    public void logPark(Ticket ticket) {
+        append(encodePark(ticket));
+    }
+
+    public void logParks(List<Ticket> tickets) {
+        ByteBuffer[] records = new ByteBuffer[tickets.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = encodePark(tickets.get(i));
+        }
+        append(records);
+    }
+
+    public void logExit(String ticketId) {
+        append(encodeExit(ticketId));
+    }
+
+    public void logExits(List<String> ticketIds) {
+        ByteBuffer[] records = new ByteBuffer[ticketIds.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = encodeExit(ticketIds.get(i));
+        }
+        append(records);
+    }
+
+    public void logSpotStatus(String spotId, SpotStatus status) {
+        append(encodeSpotStatus(spotId, status));
+    }
+
+    public void awaitDurable() throws IOException, InterruptedException {
+        long target;
+        synchronized (this) {
+            checkDurable();
+            target = appendedRecords;
+            if (durableRecords >= target) {
+                return;
+            }
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+        }
+        try {
+            flusher.execute(this::groupCommit);
+        } catch (RejectedExecutionException e) {
+            groupCommit();
+        }
+        synchronized (this) {
+            while (durableRecords < target && !closed && failure == null) {
+                wait();
+            }
+            checkDurable();
+            if (durableRecords < target) {
+                throw new IllegalStateException("Journal closed before records became durable");
+            }
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return recovered && !closed;
+    }
+
+    public synchronized IOException getFailure() {
+        return failure;
+    }
+
+    private void checkDurable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal can no longer make records durable", failure);
+        }
+    }
+
+    private synchronized void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        notifyAll();
+    }
+
+    public void writeSnapshot(Supplier<? extends Collection<Ticket>> activeTickets, Collection<ParkingSpot> spots)
+            throws IOException {
+        long coveredGeneration;
+        synchronized (this) {
+            if (!recovered || closed || snapshotInProgress) {
+                return;
+            }
+            snapshotInProgress = true;
+            coveredGeneration = generation;
+            openJournal(generation + 1);
+        }
+
+        try {
+            Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+            try (FileChannel snapshotChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                snapshotChannel.write(header(coveredGeneration));
+                for (Ticket ticket : activeTickets.get()) {
+                    snapshotChannel.write(frame(encodePark(ticket)));
+                }
+                for (ParkingSpot spot : spots) {
+                    SpotStatus status = spot.getStatus();
+                    if (status == SpotStatus.MAINTENANCE) {
+                        snapshotChannel.write(frame(encodeSpotStatus(spot.getSpotId(), status)));
+                    }
+                }
+                snapshotChannel.force(true);
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            for (long journalGeneration : journalGenerations()) {
+                if (journalGeneration <= coveredGeneration) {
+                    Files.deleteIfExists(journalPath(journalGeneration));
+                }
+            }
+        } finally {
+            synchronized (this) {
+                snapshotInProgress = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                if (buffer != null && failure == null) {
+                    buffer.force();
+                    durableRecords = appendedRecords;
+                }
+            } catch (UncheckedIOException e) {
+                failure = e.getCause();
+                throw e.getCause();
+            } finally {
+                if (channel != null) {
+                    channel.close();
+                }
+                closed = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private void append(ByteBuffer... records) {
+        ByteBuffer[] framed = new ByteBuffer[records.length];
+        int bytes = 0;
+        for (int i = 0; i < records.length; i++) {
+            framed[i] = frame(records[i]);
+            bytes += framed[i].remaining();
+        }
+        boolean snapshotDue;
+        synchronized (this) {
+            if (!recovered || closed) {
+                throw new IllegalStateException("Journal is not open for appends");
+            }
+            ensureCapacity(bytes);
+            for (ByteBuffer record : framed) {
+                buffer.put(position, record, 0, record.remaining());
+                position += record.remaining();
+            }
+            appendedRecords += framed.length;
+            recordsSinceSnapshot += framed.length;
+            snapshotDue = recordsSinceSnapshot >= snapshotEveryRecords && !snapshotInProgress;
+            if (snapshotDue) {
+                recordsSinceSnapshot = 0;
+            }
+        }
+        if (snapshotDue && snapshotSource != null) {
+            flusher.execute(this::snapshotFromSource);
+        }
+    }
+
+    private void groupCommit() {
+        MappedByteBuffer target;
+        long targetGeneration;
+        int from;
+        int to;
+        long records;
+        synchronized (this) {
+            if (buffer == null || closed || flushedPosition == position) {
+                return;
+            }
+            target = buffer;
+            targetGeneration = generation;
+            from = flushedPosition;
+            to = position;
+            records = appendedRecords;
+        }
+
+        try {
+            target.force(from, to - from);
+        } catch (UncheckedIOException e) {
+            fail(e.getCause());
+            return;
+        }
+
+        synchronized (this) {
+            if (targetGeneration == generation) {
+                flushedPosition = Math.max(flushedPosition, to);
+            }
+            durableRecords = Math.max(durableRecords, records);
+            notifyAll();
+        }
+    }
+
+    private void snapshotFromSource() {
+        SnapshotSource source = snapshotSource;
+        if (source == null) {
+            return;
+        }
+        try {
+            source.writeSnapshot(this);
+        } catch (IOException e) {
+            fail(e);
+        } catch (UncheckedIOException e) {
+            fail(e.getCause());
+        }
+    }
+
+    private void openJournal(long newGeneration) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            durableRecords = appendedRecords;
+            channel.close();
+        }
+        channel = FileChannel.open(journalPath(newGeneration), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+        buffer.put(0, header(newGeneration), 0, HEADER_BYTES);
+        generation = newGeneration;
+        position = HEADER_BYTES;
+        flushedPosition = 0;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            return;
+        }
+        long newCapacity = Math.max((long) buffer.capacity() * 2, position + bytes + RECORD_HEADER_BYTES);
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Journal segment is full; write a snapshot to rotate it");
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> journalGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX))
+                    .forEach(name -> generations.add(Long.parseLong(
+                            name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length()))));
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve(String.format("%s%016d%s", JOURNAL_PREFIX, journalGeneration, JOURNAL_SUFFIX));
+    }
+
+    private static ByteBuffer header(long headerGeneration) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(headerGeneration).flip();
+        return header;
+    }
+
+    private static long readHeader(ByteBuffer source) throws IOException {
+        if (source.limit() < HEADER_BYTES || source.getInt(0) != MAGIC || source.getInt(4) != VERSION) {
+            throw new IOException("Not a parking journal file");
+        }
+        source.position(HEADER_BYTES);
+        return source.getLong(8);
+    }
+
+    private static ByteBuffer frame(ByteBuffer record) {
+        record.flip();
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate());
+        ByteBuffer framed = ByteBuffer.allocate(RECORD_HEADER_BYTES + record.remaining());
+        framed.putInt(record.remaining()).putInt((int) crc.getValue()).put(record).flip();
+        return framed;
+    }
+
+    private static void readRecords(ByteBuffer source, JournalReplayHandler handler) {
+        CRC32 crc = new CRC32();
+        while (source.remaining() >= RECORD_HEADER_BYTES) {
+            int start = source.position();
+            int length = source.getInt();
+            int checksum = source.getInt();
+            if (length <= 0 || length > source.remaining()) {
+                source.position(start);
+                return;
+            }
+            ByteBuffer record = source.slice(source.position(), length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                source.position(start);
+                return;
+            }
+            source.position(source.position() + length);
+            dispatch(record, handler);
+        }
+    }
+
+    private static void dispatch(ByteBuffer record, JournalReplayHandler handler) {
+        byte type = record.get();
+        switch (type) {
+            case PARK: {
+                String ticketId = getString(record);
+                VehicleType vehicleType = VEHICLE_TYPES[record.get()];
+                String licensePlate = getString(record);
+                String ownerName = getString(record);
+                boolean needsCharging = record.get() != 0;
+                String spotId = getString(record);
+                String entryGate = getString(record);
+                long entryEpochMillis = record.getLong();
+                handler.onPark(ticketId, vehicleType, licensePlate, ownerName, needsCharging, spotId,
+                        entryGate, entryEpochMillis);
+                break;
+            }
+            case EXIT:
+                handler.onExit(getString(record));
+                break;
+            case SPOT_STATUS: {
+                String spotId = getString(record);
+                handler.onSpotStatus(spotId, STATUSES[record.get()]);
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    private static ByteBuffer encodePark(Ticket ticket) {
+        Vehicle vehicle = ticket.getVehicle();
+        return encodePark(ticket.getTicketId(), vehicle.getVehicleType(), vehicle.getLicensePlate(),
+                vehicle.getOwnerName(), vehicle.needsCharging(), ticket.getAssignedSpot().getSpotId(),
+                ticket.getEntryGate(), ticket.getEntryEpochMillis());
+    }
+
+    private static ByteBuffer encodeExit(String ticketId) {
+        byte[] id = utf8(ticketId);
+        ByteBuffer record = ByteBuffer.allocate(1 + 2 + id.length);
+        record.put(EXIT);
+        putString(record, id);
+        return record;
+    }
+
+    private static ByteBuffer encodePark(String ticketId, VehicleType vehicleType, String licensePlate,
+            String ownerName, boolean needsCharging, String spotId, String entryGate, long entryEpochMillis) {
+        byte[] id = utf8(ticketId);
+        byte[] plate = utf8(licensePlate);
+        byte[] owner = utf8(ownerName);
+        byte[] spot = utf8(spotId);
+        byte[] gate = utf8(entryGate);
+        ByteBuffer record = ByteBuffer.allocate(1 + 1 + 1 + 8
+                + 5 * 2 + id.length + plate.length + owner.length + spot.length + gate.length);
+        record.put(PARK);
+        putString(record, id);
+        record.put((byte) vehicleType.ordinal());
+        putString(record, plate);
+        putString(record, owner);
+        record.put((byte) (needsCharging ? 1 : 0));
+        putString(record, spot);
+        putString(record, gate);
+        record.putLong(entryEpochMillis);
+        return record;
+    }
+
+    private static ByteBuffer encodeSpotStatus(String spotId, SpotStatus status) {
+        byte[] spot = utf8(spotId);
+        ByteBuffer record = ByteBuffer.allocate(1 + 2 + spot.length + 1);
+        record.put(SPOT_STATUS);
+        putString(record, spot);
+        record.put((byte) status.ordinal());
+        return record;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static void putString(ByteBuffer record, byte[] value) {
+        record.putShort((short) value.length);
+        record.put(value);
+    }
+
+    private static String getString(ByteBuffer record) {
+        byte[] value = new byte[record.getShort() & 0xFFFF];
+        record.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public interface SnapshotSource {
+        void writeSnapshot(ParkingJournal journal) throws IOException;
+    }
+}
@@ -0,0 +1,510 @@
+package src.persistence;
+
+import src.enums.SpotType;
+import src.enums.VehicleType;
+import src.models.parking.Ticket;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+public class TicketHistoryStore implements Closeable {
+    private static final int MAGIC = 0x54485331;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int BYTES_PER_ROW = 8 + 8 + 8 + 4 + 2 + 2 + 1 + 1;
+    private static final int DEFAULT_SEGMENT_ROWS = 1 << 20;
+    private static final short NO_GATE = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String GATE_DICTIONARY_FILE = "gates.dict";
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private final Path directory;
+    private final int segmentRows;
+    private final List<Segment> segments;
+    private final Map<String, Short> gateCodes;
+    private final List<String> gateNames;
+    private volatile String[] gateNameSnapshot;
+    private volatile Segment activeSegment;
+    private volatile boolean closed;
+
+    public TicketHistoryStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_ROWS);
+    }
+
+    public TicketHistoryStore(Path directory, int segmentRows) throws IOException {
+        if (segmentRows < 1) {
+            throw new IllegalArgumentException("Segment rows must be positive: " + segmentRows);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentRows = segmentRows;
+        this.segments = new CopyOnWriteArrayList<>();
+        this.gateCodes = new ConcurrentHashMap<>();
+        this.gateNames = new ArrayList<>();
+
+        Path dictionary = directory.resolve(GATE_DICTIONARY_FILE);
+        if (Files.exists(dictionary)) {
+            for (String gateId : Files.readAllLines(dictionary, StandardCharsets.UTF_8)) {
+                gateCodes.put(gateId, (short) gateNames.size());
+                gateNames.add(gateId);
+            }
+        }
+        this.gateNameSnapshot = gateNames.toArray(new String[0]);
+
+        for (long segmentNumber : segmentNumbers()) {
+            segments.add(Segment.open(segmentPath(segmentNumber), segmentNumber));
+        }
+        if (!segments.isEmpty()) {
+            activeSegment = segments.get(segments.size() - 1);
+        }
+    }
+
+    public void append(Ticket ticket, String exitGateId) {
+        append(ticket.getEntryEpochMillis(), ticket.getExitEpochMillis(), ticket.getTotalAmount(),
+                ticket.getAssignedSpot().getFloor(), ticket.getAssignedSpot().getSpotType(),
+                ticket.getVehicle().getVehicleType(), ticket.getEntryGate(), exitGateId);
+    }
+
+    public void append(long entryMillis, long exitMillis, double amount, int floor, SpotType spotType,
+            VehicleType vehicleType, String entryGateId, String exitGateId) {
+        if (closed) {
+            throw new IllegalStateException("Ticket history store is closed");
+        }
+        try {
+            short entryGate = gateCode(entryGateId);
+            short exitGate = gateCode(exitGateId);
+            byte spotTypeCode = (byte) spotType.ordinal();
+            byte vehicleTypeCode = (byte) vehicleType.ordinal();
+            Segment segment = activeSegment;
+            int row;
+            while (segment == null || (row = segment.reserveRow()) < 0) {
+                segment = rollSegment(segment);
+            }
+            segment.append(row, entryMillis, exitMillis, amount, floor, entryGate, exitGate,
+                    spotTypeCode, vehicleTypeCode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized Segment rollSegment(Segment full) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Ticket history store is closed");
+        }
+        if (activeSegment != full) {
+            return activeSegment;
+        }
+        long segmentNumber = full == null ? 1 : full.number + 1;
+        Segment segment = Segment.create(segmentPath(segmentNumber), segmentNumber, segmentRows);
+        segments.add(segment);
+        activeSegment = segment;
+        return segment;
+    }
+
+    public long size() {
+        long rows = 0;
+        for (Segment segment : segments) {
+            rows += segment.rows;
+        }
+        return rows;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public double totalRevenue(long fromMillis, long toMillis) {
+        Segment[] current = segments.toArray(new Segment[0]);
+        int[] rowCounts = rowCounts(current);
+        double revenue = 0.0;
+        for (int i = 0; i < current.length; i++) {
+            Segment segment = current[i];
+            int rows = rowCounts[i];
+            if (!segment.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            LongBuffer exits = segment.exits;
+            DoubleBuffer amounts = segment.amounts;
+            for (int row = 0; row < rows; row++) {
+                long exit = exits.get(row);
+                revenue += exit != NO_TIME && exit >= fromMillis && exit < toMillis ? amounts.get(row) : 0.0;
+            }
+        }
+        return revenue;
+    }
+
+    public Map<Integer, Double> revenueByFloor(long fromMillis, long toMillis) {
+        Segment[] current = segments.toArray(new Segment[0]);
+        int[] rowCounts = rowCounts(current);
+        int minFloor = Integer.MAX_VALUE;
+        int maxFloor = Integer.MIN_VALUE;
+        for (int i = 0; i < current.length; i++) {
+            Segment segment = current[i];
+            if (rowCounts[i] > 0) {
+                minFloor = Math.min(minFloor, segment.minFloor);
+                maxFloor = Math.max(maxFloor, segment.maxFloor);
+            }
+        }
+        Map<Integer, Double> result = new TreeMap<>();
+        if (minFloor > maxFloor) {
+            return result;
+        }
+
+        double[] revenue = new double[maxFloor - minFloor + 1];
+        boolean[] seen = new boolean[revenue.length];
+        for (int i = 0; i < current.length; i++) {
+            Segment segment = current[i];
+            int rows = rowCounts[i];
+            if (!segment.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            LongBuffer exits = segment.exits;
+            DoubleBuffer amounts = segment.amounts;
+            IntBuffer floors = segment.floors;
+            for (int row = 0; row < rows; row++) {
+                long exit = exits.get(row);
+                if (exit != NO_TIME && exit >= fromMillis && exit < toMillis) {
+                    int floor = floors.get(row) - minFloor;
+                    revenue[floor] += amounts.get(row);
+                    seen[floor] = true;
+                }
+            }
+        }
+        for (int i = 0; i < revenue.length; i++) {
+            if (seen[i]) {
+                result.put(i + minFloor, revenue[i]);
+            }
+        }
+        return result;
+    }
+
+    public Map<VehicleType, Double> averageDurationMinutesByVehicleType(long fromMillis, long toMillis) {
+        long[] totalMillis = new long[VEHICLE_TYPES.length];
+        long[] counts = new long[VEHICLE_TYPES.length];
+        Segment[] current = segments.toArray(new Segment[0]);
+        int[] rowCounts = rowCounts(current);
+        for (int i = 0; i < current.length; i++) {
+            Segment segment = current[i];
+            int rows = rowCounts[i];
+            if (!segment.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            LongBuffer entries = segment.entries;
+            LongBuffer exits = segment.exits;
+            MappedByteBuffer buffer = segment.buffer;
+            int vehicleTypeOffset = segment.vehicleTypeOffset;
+            for (int row = 0; row < rows; row++) {
+                long exit = exits.get(row);
+                if (exit != NO_TIME && exit >= fromMillis && exit < toMillis) {
+                    int vehicleType = buffer.get(vehicleTypeOffset + row);
+                    totalMillis[vehicleType] += exit - entries.get(row);
+                    counts[vehicleType]++;
+                }
+            }
+        }
+        Map<VehicleType, Double> result = new EnumMap<>(VehicleType.class);
+        for (VehicleType vehicleType : VEHICLE_TYPES) {
+            if (counts[vehicleType.ordinal()] > 0) {
+                result.put(vehicleType,
+                        totalMillis[vehicleType.ordinal()] / 60_000.0 / counts[vehicleType.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Long> exitsByGate(long fromMillis, long toMillis) {
+        return countByGate(fromMillis, toMillis, false);
+    }
+
+    public Map<String, Long> entriesByGate(long fromMillis, long toMillis) {
+        return countByGate(fromMillis, toMillis, true);
+    }
+
+    private Map<String, Long> countByGate(long fromMillis, long toMillis, boolean byEntry) {
+        Segment[] current = segments.toArray(new Segment[0]);
+        int[] rowCounts = rowCounts(current);
+        String[] names = gateNameSnapshot;
+        long[] counts = new long[names.length];
+        for (int i = 0; i < current.length; i++) {
+            Segment segment = current[i];
+            int rows = rowCounts[i];
+            if (!byEntry && !segment.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            LongBuffer times = byEntry ? segment.entries : segment.exits;
+            ShortBuffer gates = byEntry ? segment.entryGates : segment.exitGates;
+            for (int row = 0; row < rows; row++) {
+                long time = times.get(row);
+                short gate = gates.get(row);
+                if (time != NO_TIME && time >= fromMillis && time < toMillis && gate != NO_GATE) {
+                    counts[gate]++;
+                }
+            }
+        }
+        Map<String, Long> result = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(names[i], counts[i]);
+            }
+        }
+        return result;
+    }
+
+    private static int[] rowCounts(Segment[] current) {
+        int[] rowCounts = new int[current.length];
+        for (int i = 0; i < current.length; i++) {
+            rowCounts[i] = current[i].rows;
+        }
+        return rowCounts;
+    }
+
+    public synchronized void force() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+    }
+
+    private short gateCode(String gateId) throws IOException {
+        if (gateId == null) {
+            return NO_GATE;
+        }
+        Short code = gateCodes.get(gateId);
+        return code != null ? code : registerGate(gateId);
+    }
+
+    private synchronized short registerGate(String gateId) throws IOException {
+        if (gateId.indexOf('\n') >= 0 || gateId.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Gate id cannot contain a line break: " + gateId);
+        }
+        Short code = gateCodes.get(gateId);
+        if (code != null) {
+            return code;
+        }
+        if (gateNames.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct gates in ticket history");
+        }
+        Files.write(directory.resolve(GATE_DICTIONARY_FILE), (gateId + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        short newCode = (short) gateNames.size();
+        gateNames.add(gateId);
+        gateNameSnapshot = gateNames.toArray(new String[0]);
+        gateCodes.put(gateId, newCode);
+        return newCode;
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> numbers.add(Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private Path segmentPath(long segmentNumber) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+    }
+
+    private static class Segment {
+        private final long number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final LongBuffer entries;
+        private final LongBuffer exits;
+        private final DoubleBuffer amounts;
+        private final IntBuffer floors;
+        private final ShortBuffer entryGates;
+        private final ShortBuffer exitGates;
+        private final int spotTypeOffset;
+        private final int vehicleTypeOffset;
+        private final AtomicInteger reservedRows;
+        private final AtomicLongArray committedRows;
+        private final AtomicBoolean publishing;
+        private volatile int rows;
+        private volatile long minExit;
+        private volatile long maxExit;
+        private volatile int minFloor;
+        private volatile int maxFloor;
+
+        private Segment(long number, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+            int offset = HEADER_BYTES;
+            this.entries = buffer.slice(offset, capacity * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+            offset += capacity * 8;
+            this.exits = buffer.slice(offset, capacity * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+            offset += capacity * 8;
+            this.amounts = buffer.slice(offset, capacity * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            offset += capacity * 8;
+            this.floors = buffer.slice(offset, capacity * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+            offset += capacity * 4;
+            this.entryGates = buffer.slice(offset, capacity * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+            offset += capacity * 2;
+            this.exitGates = buffer.slice(offset, capacity * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+            offset += capacity * 2;
+            this.spotTypeOffset = offset;
+            this.vehicleTypeOffset = offset + capacity;
+            this.reservedRows = new AtomicInteger();
+            this.committedRows = new AtomicLongArray((capacity + 63) >>> 6);
+            this.publishing = new AtomicBoolean();
+        }
+
+        static Segment create(Path path, long number, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) capacity * BYTES_PER_ROW);
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, 0);
+            Segment segment = new Segment(number, channel, buffer, capacity);
+            segment.writeBounds(Long.MAX_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE);
+            return segment;
+        }
+
+        static Segment open(Path path, long number) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("Not a ticket history segment: " + path);
+            }
+            int capacity = buffer.getInt(8);
+            if (buffer.limit() < HEADER_BYTES + (long) capacity * BYTES_PER_ROW) {
+                channel.close();
+                throw new IOException("Truncated ticket history segment: " + path);
+            }
+            Segment segment = new Segment(number, channel, buffer, capacity);
+            segment.minExit = buffer.getLong(16);
+            segment.maxExit = buffer.getLong(24);
+            segment.minFloor = buffer.getInt(32);
+            segment.maxFloor = buffer.getInt(36);
+            segment.rows = buffer.getInt(12);
+            segment.reservedRows.set(segment.rows);
+            return segment;
+        }
+
+        int reserveRow() {
+            int row = reservedRows.get();
+            while (row < capacity) {
+                if (reservedRows.compareAndSet(row, row + 1)) {
+                    return row;
+                }
+                row = reservedRows.get();
+            }
+            return -1;
+        }
+
+        boolean overlaps(long fromMillis, long toMillis) {
+            return rows > 0 && maxExit >= fromMillis && minExit < toMillis;
+        }
+
+        void append(int row, long entryMillis, long exitMillis, double amount, int floor, short entryGate,
+                short exitGate, byte spotType, byte vehicleType) {
+            boolean written = false;
+            try {
+                entries.put(row, entryMillis);
+                exits.put(row, exitMillis);
+                amounts.put(row, amount);
+                floors.put(row, floor);
+                entryGates.put(row, entryGate);
+                exitGates.put(row, exitGate);
+                buffer.put(spotTypeOffset + row, spotType);
+                buffer.put(vehicleTypeOffset + row, vehicleType);
+                written = true;
+            } finally {
+                if (!written) {
+                    entries.put(row, NO_TIME);
+                    exits.put(row, NO_TIME);
+                    amounts.put(row, 0.0);
+                    entryGates.put(row, NO_GATE);
+                    exitGates.put(row, NO_GATE);
+                }
+                committedRows.accumulateAndGet(row >>> 6, 1L << row, (bits, bit) -> bits | bit);
+                publish();
+            }
+        }
+
+        private boolean isCommitted(int row) {
+            return row < capacity && (committedRows.get(row >>> 6) & (1L << row)) != 0;
+        }
+
+        private void publish() {
+            while (isCommitted(rows) && publishing.compareAndSet(false, true)) {
+                try {
+                    int published = rows;
+                    long newMinExit = minExit;
+                    long newMaxExit = maxExit;
+                    int newMinFloor = minFloor;
+                    int newMaxFloor = maxFloor;
+                    for (; isCommitted(published); published++) {
+                        long exit = exits.get(published);
+                        if (exit != NO_TIME) {
+                            int floor = floors.get(published);
+                            newMinExit = Math.min(newMinExit, exit);
+                            newMaxExit = Math.max(newMaxExit, exit);
+                            newMinFloor = Math.min(newMinFloor, floor);
+                            newMaxFloor = Math.max(newMaxFloor, floor);
+                        }
+                    }
+                    if (published != rows) {
+                        writeBounds(newMinExit, newMaxExit, newMinFloor, newMaxFloor);
+                        buffer.putInt(12, published);
+                        rows = published;
+                    }
+                } finally {
+                    publishing.set(false);
+                }
+            }
+        }
+
+        private void writeBounds(long newMinExit, long newMaxExit, int newMinFloor, int newMaxFloor) {
+            buffer.putLong(16, newMinExit).putLong(24, newMaxExit).putInt(32, newMinFloor).putInt(36, newMaxFloor);
+            minExit = newMinExit;
+            maxExit = newMaxExit;
+            minFloor = newMinFloor;
+            maxFloor = newMaxFloor;
+        }
+    }
+}
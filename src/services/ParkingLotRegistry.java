@@ -0,0 +1,204 @@
+package src.services;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParkingLotRegistry implements AutoCloseable {
+    private final LotLoader loader;
+    private final long idleTimeoutNanos;
+    private final Map<String, LotEntry> lots;
+    private ScheduledExecutorService sweeper;
+
+    public ParkingLotRegistry(LotLoader loader, long idleTimeout, TimeUnit unit) {
+        this.loader = loader;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.lots = new ConcurrentHashMap<>();
+    }
+
+    public ParkingLotService getLot(String lotName) {
+        return acquire(lotName, false).service();
+    }
+
+    public LotLease leaseLot(String lotName) {
+        LotEntry entry = acquire(lotName, true);
+        try {
+            entry.service();
+        } catch (RuntimeException | Error e) {
+            entry.leases.decrementAndGet();
+            throw e;
+        }
+        return new LotLease(entry);
+    }
+
+    public Optional<ParkingLotService> findLoadedLot(String lotName) {
+        LotEntry entry = lots.computeIfPresent(lotName, (name, current) -> {
+            if (current.isLoaded()) {
+                current.touch();
+            }
+            return current;
+        });
+        return entry != null && entry.isLoaded() ? Optional.of(entry.service()) : Optional.empty();
+    }
+
+    private LotEntry acquire(String lotName, boolean lease) {
+        LotEntry entry = lots.computeIfPresent(lotName, (name, current) -> touch(current, lease));
+        if (entry != null) {
+            return entry;
+        }
+        LotEntry loading = new LotEntry();
+        entry = lots.compute(lotName, (name, current) -> touch(current != null ? current : loading, lease));
+        if (entry == loading) {
+            load(lotName, loading);
+        }
+        return entry;
+    }
+
+    private static LotEntry touch(LotEntry entry, boolean lease) {
+        entry.touch();
+        if (lease) {
+            entry.leases.incrementAndGet();
+        }
+        return entry;
+    }
+
+    private void load(String lotName, LotEntry entry) {
+        entry.loadingThread = Thread.currentThread();
+        try {
+            entry.loaded.complete(loader.load(lotName));
+        } catch (RuntimeException | Error e) {
+            lots.remove(lotName, entry);
+            entry.loaded.completeExceptionally(e);
+        } finally {
+            entry.loadingThread = null;
+        }
+    }
+
+    public Set<String> getLoadedLotNames() {
+        return lots.keySet();
+    }
+
+    public int size() {
+        return lots.size();
+    }
+
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<String, LotEntry> lot : lots.entrySet()) {
+            LotEntry entry = lot.getValue();
+            if (!entry.isIdle(now, idleTimeoutNanos)) {
+                continue;
+            }
+            if (lots.computeIfPresent(lot.getKey(), (name, current) -> current == entry
+                    && current.isIdle(now, idleTimeoutNanos) && loader.unload(name, current.service())
+                    ? null : current) == null) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public synchronized void startEvictionSweeper(long period, TimeUnit unit) {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-lot-registry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    public interface LotLoader {
+        ParkingLotService load(String lotName);
+
+        default boolean unload(String lotName, ParkingLotService service) {
+            return service.getStatus().getActiveVehicles() == 0;
+        }
+    }
+
+    public static class LotLease implements AutoCloseable {
+        private final LotEntry entry;
+        private boolean released;
+
+        private LotLease(LotEntry entry) {
+            this.entry = entry;
+        }
+
+        public ParkingLotService getService() {
+            if (released) {
+                throw new IllegalStateException("Lot lease already released");
+            }
+            return entry.service();
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                entry.touch();
+                entry.leases.decrementAndGet();
+            }
+        }
+    }
+
+    private static class LotEntry {
+        private final CompletableFuture<ParkingLotService> loaded;
+        private final AtomicInteger leases;
+        private volatile Thread loadingThread;
+        private volatile long lastAccessNanos;
+
+        LotEntry() {
+            this.loaded = new CompletableFuture<>();
+            this.leases = new AtomicInteger();
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        ParkingLotService service() {
+            if (!loaded.isDone() && loadingThread == Thread.currentThread()) {
+                throw new IllegalStateException("Lot is already being loaded by this thread");
+            }
+            try {
+                return loaded.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+
+        boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        boolean isIdle(long now, long idleTimeoutNanos) {
+            return isLoaded() && leases.get() == 0 && now - lastAccessNanos >= idleTimeoutNanos;
+        }
+    }
+}
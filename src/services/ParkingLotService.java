@@ -1,29 +1,106 @@
 package src.services;
 
+import src.events.GateStateChangedEvent;
+import src.events.ParkingEventBus;
+import src.events.SpotFreedEvent;
+import src.events.SpotOccupiedEvent;
+import src.events.TicketClosedEvent;
+import src.events.TicketIssuedEvent;
+import src.metrics.ParkingMetrics;
+import src.metrics.ParkingMetrics.Operation;
+import src.metrics.ParkingMetrics.RejectionReason;
+import src.models.parking.ActiveTicketTable;
+import src.models.parking.AvailableSpotIndex;
+import src.models.parking.OccupancyCounters;
 import src.models.parking.ParkingSpot;
+import src.models.parking.Reservation;
+import src.models.parking.SpotBitmapIndex;
+import src.models.parking.SpotQuery;
+import src.models.parking.SpotStatusListener;
 import src.models.parking.Ticket;
+import src.models.requests.EntryRequest;
+import src.models.requests.ExitRequest;
 import src.models.vehicles.Vehicle;
 import src.models.gates.EntryExitGate;
+import src.persistence.JournalReplayHandler;
+import src.persistence.ParkingJournal;
+import src.persistence.TicketHistoryStore;
+import src.services.audit.AuditFinding;
+import src.services.audit.LotSnapshot;
+import src.services.reservation.HashedTimingWheel;
+import src.services.reservation.HashedTimingWheel.Timeout;
+import src.factories.VehicleFactory;
 import src.strategies.pricing.PricingStrategy;
 import src.strategies.allocation.SlotAllocationStrategy;
+import src.strategies.ticketing.MonotonicTicketIdGenerator;
+import src.strategies.ticketing.TicketIdGenerator;
 import src.enums.SpotStatus;
+import src.enums.SpotType;
+import src.enums.VehicleType;
+import java.io.IOException;
+import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ParkingLotService {
+    private static final int RESERVATION_WHEEL_SIZE = 1024;
+    private static final long RESERVATION_TICK_MILLIS = 1000;
+    private static final int SNAPSHOT_ATTEMPTS = 5;
+    private static final int BATCH_PROFILES = VehicleType.values().length * 2;
+    private static final SpotType[][] NON_CHARGING_SPOT_GROUPS = { { SpotType.STANDARD }, { SpotType.LARGE } };
+
     private static ParkingLotService instance;
     private final String parkingLotName;
     private final Map<String, ParkingSpot> allSpots;
     private final Map<String, EntryExitGate> gates;
-    private final Map<String, Ticket> activeTickets;
+    private final ActiveTicketTable activeTickets;
+    private final Map<String, Ticket> ticketsByPlate;
+    private final Set<String> parkedPlates;
+    private final Map<String, Timeout<Reservation>> reservationsByPlate;
+    private volatile HashedTimingWheel<Reservation> reservationWheel;
+    private final AvailableSpotIndex availableSpotIndex;
+    private final OccupancyCounters occupancyCounters;
+    private final SpotBitmapIndex spotBitmapIndex;
+    private final SpotStatusListener spotStatusListener;
+    private final LongAdder mutationsStarted;
+    private final LongAdder mutationsCompleted;
+    private final LongAdder spotTransitions;
+    private final LongAdder unjournaledSpotTransitions;
     private PricingStrategy pricingStrategy;
     private SlotAllocationStrategy allocationStrategy;
+    private TicketIdGenerator ticketIdGenerator;
+    private volatile Clock clock;
+    private volatile ParkingJournal journal;
+    private volatile ParkingEventBus eventBus;
+    private volatile ParkingMetrics metrics;
+    private volatile TicketHistoryStore history;
+    private final Queue<PendingHistory> pendingHistory;
+    private final List<TicketCloseListener> ticketCloseListeners;
 
     private ParkingLotService(String parkingLotName) {
         this.parkingLotName = parkingLotName;
         this.allSpots = new ConcurrentHashMap<>();
         this.gates = new ConcurrentHashMap<>();
-        this.activeTickets = new ConcurrentHashMap<>();
+        this.ticketsByPlate = new ConcurrentHashMap<>();
+        this.parkedPlates = ConcurrentHashMap.newKeySet();
+        this.reservationsByPlate = new ConcurrentHashMap<>();
+        this.clock = Clock.systemDefaultZone();
+        this.activeTickets = new ActiveTicketTable(clock);
+        this.availableSpotIndex = new AvailableSpotIndex();
+        this.occupancyCounters = new OccupancyCounters();
+        this.spotBitmapIndex = new SpotBitmapIndex();
+        this.spotStatusListener = new SpotTransitions();
+        this.mutationsStarted = new LongAdder();
+        this.mutationsCompleted = new LongAdder();
+        this.spotTransitions = new LongAdder();
+        this.unjournaledSpotTransitions = new LongAdder();
+        this.pendingHistory = new ConcurrentLinkedQueue<>();
+        this.ticketCloseListeners = new CopyOnWriteArrayList<>();
+        this.ticketIdGenerator = MonotonicTicketIdGenerator.getDefault();
+        this.metrics = new ParkingMetrics();
     }
 
     public static synchronized ParkingLotService getInstance(String parkingLotName) {
@@ -40,8 +117,35 @@ public class ParkingLotService {
         return instance;
     }
 
+    public static ParkingLotService newInstance(String parkingLotName) {
+        return new ParkingLotService(parkingLotName);
+    }
+
     public void addParkingSpots(List<ParkingSpot> spots) {
-        spots.forEach(spot -> allSpots.put(spot.getSpotId(), spot));
+        mutationsStarted.increment();
+        try {
+            spots.forEach(this::registerSpot);
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private void registerSpot(ParkingSpot spot) {
+        ParkingSpot previous = allSpots.put(spot.getSpotId(), spot);
+        if (previous != null && !previous.equals(spot)) {
+            previous.setStatusListener(null);
+            availableSpotIndex.remove(previous);
+            occupancyCounters.unregister(previous);
+            spotBitmapIndex.unregister(previous);
+            activeTickets.unregisterSpot(previous);
+        }
+        if (!spot.equals(previous)) {
+            occupancyCounters.register(spot);
+            spotBitmapIndex.register(spot);
+            activeTickets.registerSpot(spot);
+            spot.setStatusListener(spotStatusListener);
+        }
+        availableSpotIndex.refresh(spot);
     }
 
     public void addGates(List<EntryExitGate> gateList) {
@@ -56,73 +160,852 @@ public class ParkingLotService {
         this.allocationStrategy = allocationStrategy;
     }
 
+    public void setTicketIdGenerator(TicketIdGenerator ticketIdGenerator) {
+        this.ticketIdGenerator = ticketIdGenerator;
+    }
+
+    public synchronized void setClock(Clock clock) {
+        if (!reservationsByPlate.isEmpty()) {
+            throw new IllegalStateException("Cannot change clock with active reservations");
+        }
+        this.reservationWheel = null;
+        this.clock = clock;
+        activeTickets.setClock(clock);
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public void setEventBus(ParkingEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public ParkingEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public void setMetrics(ParkingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ParkingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean setGateOperational(String gateId, boolean operational) {
+        EntryExitGate gate = gates.get(gateId);
+        if (gate == null) {
+            return false;
+        }
+        if (gate.isOperational() != operational) {
+            gate.setOperational(operational);
+            ParkingEventBus bus = eventBus;
+            if (bus != null) {
+                bus.publish(new GateStateChangedEvent(gateId, operational, clock.millis()));
+            }
+        }
+        return true;
+    }
+
+    public void addTicketCloseListener(TicketCloseListener listener) {
+        ticketCloseListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeTicketCloseListener(TicketCloseListener listener) {
+        ticketCloseListeners.remove(listener);
+    }
+
+    public void attachJournal(ParkingJournal journal) throws IOException {
+        mutationsStarted.increment();
+        try {
+            journal.replay(new JournalRecovery());
+        } finally {
+            mutationsCompleted.increment();
+        }
+        journal.setSnapshotSource(this::writeSnapshot);
+        this.journal = journal;
+    }
+
+    public void attachHistory(TicketHistoryStore history) {
+        this.history = history;
+        retryPendingHistory();
+    }
+
+    public TicketHistoryStore getHistory() {
+        return history;
+    }
+
+    public int getPendingHistoryCount() {
+        return pendingHistory.size();
+    }
+
+    public int retryPendingHistory() {
+        TicketHistoryStore currentHistory = history;
+        if (currentHistory == null) {
+            return pendingHistory.size();
+        }
+        for (int remaining = pendingHistory.size(); remaining > 0; remaining--) {
+            PendingHistory pending = pendingHistory.poll();
+            if (pending == null) {
+                break;
+            }
+            try {
+                currentHistory.append(pending.ticket, pending.exitGateId);
+            } catch (RuntimeException e) {
+                pendingHistory.add(pending);
+                break;
+            }
+        }
+        return pendingHistory.size();
+    }
+
+    public void checkpoint() throws IOException {
+        ParkingJournal current = journal;
+        if (current != null) {
+            writeSnapshot(current);
+        }
+    }
+
+    private void writeSnapshot(ParkingJournal target) throws IOException {
+        target.writeSnapshot(activeTickets::values, allSpots.values());
+    }
+
     public Optional<Ticket> parkVehicle(Vehicle vehicle, String entryGateId) {
-        EntryExitGate gate = gates.get(entryGateId);
+        return parkAtGate(vehicle, gates.get(entryGateId), allocationStrategy);
+    }
+
+    public List<Optional<Ticket>> parkVehicles(List<EntryRequest> requests) {
+        mutationsStarted.increment();
+        try {
+            ParkingMetrics currentMetrics = metrics;
+            if (currentMetrics == null || !currentMetrics.shouldSample()) {
+                return tryParkBatch(requests, allocationStrategy);
+            }
+            long start = System.nanoTime();
+            List<Optional<Ticket>> tickets = tryParkBatch(requests, allocationStrategy);
+            long nanos = System.nanoTime() - start;
+            for (EntryRequest request : requests) {
+                recordBatchItem(currentMetrics, Operation.PARK, request.getGateId(), nanos);
+            }
+            return tickets;
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private List<Optional<Ticket>> tryParkBatch(List<EntryRequest> requests, SlotAllocationStrategy strategy) {
+        long now = clock.millis();
+        expireReservations(now);
+        ParkingJournal current = requireOpenJournal();
+
+        int size = requests.size();
+        EntryExitGate[] itemGates = new EntryExitGate[size];
+        ParkingSpot[] spots = new ParkingSpot[size];
+        boolean[] rejected = new boolean[size];
+        Map<String, EntryExitGate> batchGates = new HashMap<>();
+        Map<EntryExitGate, BatchGroup[]> groups = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Vehicle vehicle = requests.get(i).getVehicle();
+            EntryExitGate gate = batchGates.computeIfAbsent(requests.get(i).getGateId(), gates::get);
+            itemGates[i] = gate;
+            if (gate == null || !gate.canProcessEntry()) {
+                rejected[i] = true;
+                reject(RejectionReason.GATE_UNAVAILABLE);
+                continue;
+            }
+            if (!parkedPlates.add(vehicle.getLicensePlate())) {
+                rejected[i] = true;
+                reject(RejectionReason.DUPLICATE_PLATE);
+                continue;
+            }
+            spots[i] = claimReservedSpot(vehicle, now);
+            if (spots[i] != null) {
+                continue;
+            }
+            SpotType[][] searchOrder = strategy.getSearchOrder(vehicle);
+            if (searchOrder == null) {
+                spots[i] = claimSpot(vehicle, gate, strategy, false);
+                continue;
+            }
+            BatchGroup[] gateGroups = groups.computeIfAbsent(gate, g -> new BatchGroup[BATCH_PROFILES]);
+            int profile = vehicle.getVehicleType().ordinal() * 2 + (vehicle.needsCharging() ? 1 : 0);
+            if (gateGroups[profile] == null) {
+                gateGroups[profile] = new BatchGroup(searchOrder, size);
+            }
+            gateGroups[profile].add(i, vehicle);
+        }
+
+        for (Map.Entry<EntryExitGate, BatchGroup[]> entry : groups.entrySet()) {
+            for (BatchGroup group : entry.getValue()) {
+                if (group != null) {
+                    group.claim(availableSpotIndex, entry.getKey().getFloor(), spots);
+                }
+            }
+        }
+
+        List<Optional<Ticket>> results = new ArrayList<>(size);
+        List<Ticket> issued = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (rejected[i]) {
+                results.add(Optional.empty());
+                continue;
+            }
+            Vehicle vehicle = requests.get(i).getVehicle();
+            if (spots[i] == null) {
+                parkedPlates.remove(vehicle.getLicensePlate());
+                results.add(reject(RejectionReason.NO_SPOT));
+                continue;
+            }
+            Ticket ticket = activeTickets.issue(ticketIdGenerator.nextId(), vehicle, spots[i],
+                    itemGates[i].getGateId(), now);
+            ticketsByPlate.put(vehicle.getLicensePlate(), ticket);
+            issued.add(ticket);
+            results.add(Optional.of(ticket));
+        }
+
+        if (current != null && !issued.isEmpty()) {
+            try {
+                current.logParks(issued);
+            } catch (RuntimeException e) {
+                for (Ticket ticket : issued) {
+                    rollBackPark(ticket);
+                }
+                throw e;
+            }
+        }
+
+        ParkingEventBus bus = eventBus;
+        if (bus != null) {
+            for (Ticket ticket : issued) {
+                bus.publish(new TicketIssuedEvent(ticket.getTicketId(), ticket.getVehicle().getLicensePlate(),
+                        ticket.getAssignedSpot().getSpotId(), ticket.getEntryGate(), now));
+            }
+        }
+
+        return results;
+    }
+
+    private void recordBatchItem(ParkingMetrics currentMetrics, Operation operation, String gateId, long nanos) {
+        EntryExitGate gate = gateId != null ? gates.get(gateId) : null;
+        currentMetrics.recordOperation(operation, gate != null ? gate.getGateId() : null, nanos);
+    }
+
+    private Optional<Ticket> parkAtGate(Vehicle vehicle, EntryExitGate gate, SlotAllocationStrategy strategy) {
+        mutationsStarted.increment();
+        try {
+            ParkingMetrics currentMetrics = metrics;
+            if (currentMetrics == null || !currentMetrics.shouldSample()) {
+                return tryPark(vehicle, gate, strategy, null);
+            }
+            long start = System.nanoTime();
+            Optional<Ticket> ticket = tryPark(vehicle, gate, strategy, currentMetrics);
+            currentMetrics.recordOperation(Operation.PARK, gate != null ? gate.getGateId() : null,
+                    System.nanoTime() - start);
+            return ticket;
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private Optional<Ticket> tryPark(Vehicle vehicle, EntryExitGate gate, SlotAllocationStrategy strategy,
+            ParkingMetrics sampledMetrics) {
+        long now = clock.millis();
+        expireReservations(now);
+
         if (gate == null || !gate.canProcessEntry()) {
+            return reject(RejectionReason.GATE_UNAVAILABLE);
+        }
+        ParkingJournal current = requireOpenJournal();
+
+        if (!parkedPlates.add(vehicle.getLicensePlate())) {
+            return reject(RejectionReason.DUPLICATE_PLATE);
+        }
+
+        ParkingSpot spot = claimReservedSpot(vehicle, now);
+        if (spot == null) {
+            long allocationStart = sampledMetrics != null ? System.nanoTime() : 0;
+            spot = claimSpot(vehicle, gate, strategy, false);
+            if (sampledMetrics != null) {
+                sampledMetrics.recordAllocation(strategy.getStrategyName(), System.nanoTime() - allocationStart);
+            }
+        }
+        if (spot == null) {
+            parkedPlates.remove(vehicle.getLicensePlate());
+            return reject(RejectionReason.NO_SPOT);
+        }
+
+        Ticket ticket = activeTickets.issue(ticketIdGenerator.nextId(), vehicle, spot, gate.getGateId(), now);
+        ticketsByPlate.put(vehicle.getLicensePlate(), ticket);
+
+        if (current != null) {
+            try {
+                current.logPark(ticket);
+            } catch (RuntimeException e) {
+                rollBackPark(ticket);
+                throw e;
+            }
+        }
+
+        ParkingEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(new TicketIssuedEvent(ticket.getTicketId(), vehicle.getLicensePlate(), spot.getSpotId(),
+                    gate.getGateId(), now));
+        }
+
+        return Optional.of(ticket);
+    }
+
+    private ParkingJournal requireOpenJournal() {
+        ParkingJournal current = journal;
+        if (current != null && !current.isOpen()) {
+            throw new IllegalStateException("Journal is not open for appends");
+        }
+        return current;
+    }
+
+    private void rollBackPark(Ticket ticket) {
+        activeTickets.remove(ticket.getTicketId());
+        ticket.getAssignedSpot().free();
+        releasePlate(ticket);
+    }
+
+    private ParkingSpot claimReservedSpot(Vehicle vehicle, long now) {
+        Timeout<Reservation> timeout = reservationsByPlate.remove(vehicle.getLicensePlate());
+        if (timeout == null) {
+            return null;
+        }
+        reservationWheel().cancel(timeout);
+
+        Reservation reservation = timeout.getItem();
+        if (!reservation.tryComplete()) {
+            return null;
+        }
+        ParkingSpot spot = reservation.getSpot();
+        if (!reservation.isExpired(now) && spot.tryOccupyReserved(vehicle)) {
+            return spot;
+        }
+        spot.releaseReservation();
+        return null;
+    }
+
+    private ParkingSpot claimSpot(Vehicle vehicle, EntryExitGate gate, SlotAllocationStrategy strategy,
+            boolean reserve) {
+        while (true) {
+            Optional<ParkingSpot> spotOpt = strategy.findSpot(vehicle, availableSpotIndex, gate);
+            if (!spotOpt.isPresent()) {
+                return null;
+            }
+
+            ParkingSpot spot = spotOpt.get();
+            if (!vehicle.canFitInSpot(spot.getSpotType())) {
+                return null;
+            }
+            if (reserve ? spot.tryReserve() : spot.tryOccupy(vehicle)) {
+                return spot;
+            }
+            availableSpotIndex.refresh(spot);
+        }
+    }
+
+    public Optional<Reservation> reserveSpot(Vehicle vehicle, String entryGateId, long holdMillis) {
+        mutationsStarted.increment();
+        try {
+            return tryReserveSpot(vehicle, entryGateId, holdMillis);
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private Optional<Reservation> tryReserveSpot(Vehicle vehicle, String entryGateId, long holdMillis) {
+        long now = clock.millis();
+        expireReservations(now);
+
+        EntryExitGate gate = gates.get(entryGateId);
+        if (gate == null || !gate.canProcessEntry() || holdMillis <= 0) {
             return Optional.empty();
         }
 
-        List<ParkingSpot> availableSpots = getAvailableSpots();
-        Optional<ParkingSpot> spotOpt = allocationStrategy.findSpot(vehicle, availableSpots, gate);
+        String licensePlate = vehicle.getLicensePlate();
+        if (parkedPlates.contains(licensePlate) || reservationsByPlate.containsKey(licensePlate)) {
+            return Optional.empty();
+        }
 
-        if (!spotOpt.isPresent()) {
+        ParkingSpot spot = claimSpot(vehicle, gate, allocationStrategy, true);
+        if (spot == null) {
             return Optional.empty();
         }
 
-        ParkingSpot spot = spotOpt.get();
-        spot.occupy(vehicle);
+        Reservation reservation = new Reservation(ticketIdGenerator.nextId(), licensePlate, spot, now,
+                now + holdMillis);
+        Timeout<Reservation> timeout = reservationWheel().schedule(reservation, reservation.getExpiresAtMillis());
+        if (reservationsByPlate.putIfAbsent(licensePlate, timeout) != null) {
+            reservationWheel().cancel(timeout);
+            if (reservation.tryComplete()) {
+                spot.releaseReservation();
+            }
+            return Optional.empty();
+        }
+        if (reservation.isCompleted()) {
+            reservationsByPlate.remove(licensePlate, timeout);
+            return Optional.empty();
+        }
 
-        Ticket ticket = new Ticket(vehicle, spot, entryGateId);
-        activeTickets.put(ticket.getTicketId(), ticket);
+        return Optional.of(reservation);
+    }
 
-        return Optional.of(ticket);
+    public boolean cancelReservation(String licensePlate) {
+        mutationsStarted.increment();
+        try {
+            return tryCancelReservation(licensePlate);
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private boolean tryCancelReservation(String licensePlate) {
+        Timeout<Reservation> timeout = reservationsByPlate.remove(licensePlate);
+        if (timeout == null) {
+            return false;
+        }
+        reservationWheel().cancel(timeout);
+        Reservation reservation = timeout.getItem();
+        if (!reservation.tryComplete()) {
+            return false;
+        }
+        reservation.getSpot().releaseReservation();
+        return true;
+    }
+
+    public Optional<Reservation> findReservation(String licensePlate) {
+        Timeout<Reservation> timeout = reservationsByPlate.get(licensePlate);
+        return timeout != null ? Optional.of(timeout.getItem()) : Optional.empty();
+    }
+
+    public int getReservationCount() {
+        return reservationsByPlate.size();
+    }
+
+    public int expireReservations() {
+        mutationsStarted.increment();
+        try {
+            return expireReservations(clock.millis());
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private HashedTimingWheel<Reservation> reservationWheel() {
+        HashedTimingWheel<Reservation> wheel = reservationWheel;
+        if (wheel != null) {
+            return wheel;
+        }
+        synchronized (this) {
+            if (reservationWheel == null) {
+                reservationWheel = new HashedTimingWheel<>(RESERVATION_WHEEL_SIZE, RESERVATION_TICK_MILLIS,
+                        clock.millis());
+            }
+            return reservationWheel;
+        }
+    }
+
+    private int expireReservations(long now) {
+        HashedTimingWheel<Reservation> wheel = reservationWheel;
+        if (wheel == null) {
+            return 0;
+        }
+        int expired = 0;
+        for (Timeout<Reservation> timeout : wheel.advance(now)) {
+            Reservation reservation = timeout.getItem();
+            reservationsByPlate.remove(reservation.getLicensePlate(), timeout);
+            if (reservation.tryComplete()) {
+                reservation.getSpot().releaseReservation();
+                expired++;
+            }
+        }
+        return expired;
     }
 
     public Optional<Ticket> exitVehicle(String ticketId, String exitGateId) {
+        return exitAtGate(ticketId, gates.get(exitGateId), pricingStrategy);
+    }
+
+    public Optional<Ticket> exitByPlate(String licensePlate, String exitGateId) {
+        Ticket ticket = ticketsByPlate.get(licensePlate);
+        if (ticket == null) {
+            return reject(RejectionReason.UNKNOWN_TICKET);
+        }
+        return exitAtGate(ticket.getTicketId(), gates.get(exitGateId), pricingStrategy);
+    }
+
+    public List<Optional<Ticket>> exitVehicles(List<ExitRequest> requests) {
+        mutationsStarted.increment();
+        try {
+            ParkingMetrics currentMetrics = metrics;
+            if (currentMetrics == null || !currentMetrics.shouldSample()) {
+                return tryExitBatch(requests, pricingStrategy, null);
+            }
+            long start = System.nanoTime();
+            List<Optional<Ticket>> tickets = tryExitBatch(requests, pricingStrategy, currentMetrics);
+            long nanos = System.nanoTime() - start;
+            for (ExitRequest request : requests) {
+                recordBatchItem(currentMetrics, Operation.EXIT, request.getGateId(), nanos);
+            }
+            return tickets;
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private List<Optional<Ticket>> tryExitBatch(List<ExitRequest> requests, PricingStrategy strategy,
+            ParkingMetrics sampledMetrics) {
+        int size = requests.size();
+        Map<String, EntryExitGate> batchGates = new HashMap<>();
+        List<Optional<Ticket>> results = new ArrayList<>(size);
+        List<Ticket> candidates = new ArrayList<>(size);
+        List<EntryExitGate> candidateGates = new ArrayList<>(size);
+        int[] resultIndexes = new int[size];
+
+        for (ExitRequest request : requests) {
+            Ticket ticket = activeTickets.get(request.getTicketId());
+            if (ticket == null) {
+                results.add(reject(RejectionReason.UNKNOWN_TICKET));
+                continue;
+            }
+            EntryExitGate gate = batchGates.computeIfAbsent(request.getGateId(), gates::get);
+            if (gate == null || !gate.canProcessExit()) {
+                results.add(reject(RejectionReason.GATE_UNAVAILABLE));
+                continue;
+            }
+            resultIndexes[candidates.size()] = results.size();
+            candidates.add(ticket);
+            candidateGates.add(gate);
+            results.add(null);
+        }
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        long pricingStart = sampledMetrics != null ? System.nanoTime() : 0;
+        double[] candidateAmounts = strategy.calculatePrices(candidates);
+        if (sampledMetrics != null) {
+            long pricingNanos = (System.nanoTime() - pricingStart) / candidates.size();
+            for (int i = 0; i < candidates.size(); i++) {
+                sampledMetrics.recordPricing(strategy.getStrategyName(), pricingNanos);
+            }
+        }
+        List<Ticket> closing = new ArrayList<>(candidates.size());
+        List<String> closingIds = new ArrayList<>(candidates.size());
+        List<EntryExitGate> closingGates = new ArrayList<>(candidates.size());
+        double[] amounts = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            Ticket ticket = activeTickets.remove(candidates.get(i).getTicketId());
+            if (ticket == null) {
+                results.set(resultIndexes[i], reject(RejectionReason.UNKNOWN_TICKET));
+                continue;
+            }
+            amounts[closing.size()] = candidateAmounts[i];
+            closing.add(ticket);
+            closingIds.add(ticket.getTicketId());
+            closingGates.add(candidateGates.get(i));
+            results.set(resultIndexes[i], Optional.of(ticket));
+        }
+        if (closing.isEmpty()) {
+            return results;
+        }
+
+        try {
+            ParkingJournal current = journal;
+            if (current != null) {
+                current.logExits(closingIds);
+            }
+            for (int i = 0; i < closing.size(); i++) {
+                Ticket ticket = closing.get(i);
+                ticket.completeExit(amounts[i]);
+                recordHistory(ticket, closingGates.get(i).getGateId());
+            }
+        } finally {
+            try {
+                for (Ticket ticket : closing) {
+                    notifyTicketClosed(ticket);
+                }
+            } finally {
+                for (Ticket ticket : closing) {
+                    ticket.getAssignedSpot().free();
+                    releasePlate(ticket);
+                }
+            }
+        }
+
+        ParkingEventBus bus = eventBus;
+        if (bus != null) {
+            long now = clock.millis();
+            for (int i = 0; i < closing.size(); i++) {
+                Ticket ticket = closing.get(i);
+                bus.publish(new TicketClosedEvent(ticket.getTicketId(), ticket.getVehicle().getLicensePlate(),
+                        ticket.getAssignedSpot().getSpotId(), closingGates.get(i).getGateId(),
+                        ticket.getParkingDurationMillis(), amounts[i], now));
+            }
+        }
+
+        return results;
+    }
+
+    private Optional<Ticket> exitAtGate(String ticketId, EntryExitGate gate, PricingStrategy strategy) {
+        mutationsStarted.increment();
+        try {
+            ParkingMetrics currentMetrics = metrics;
+            if (currentMetrics == null || !currentMetrics.shouldSample()) {
+                return tryExit(ticketId, gate, strategy, null);
+            }
+            long start = System.nanoTime();
+            Optional<Ticket> ticket = tryExit(ticketId, gate, strategy, currentMetrics);
+            currentMetrics.recordOperation(Operation.EXIT, gate != null ? gate.getGateId() : null,
+                    System.nanoTime() - start);
+            return ticket;
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private Optional<Ticket> tryExit(String ticketId, EntryExitGate gate, PricingStrategy strategy,
+            ParkingMetrics sampledMetrics) {
         Ticket ticket = activeTickets.get(ticketId);
         if (ticket == null) {
-            return Optional.empty();
+            return reject(RejectionReason.UNKNOWN_TICKET);
         }
 
-        EntryExitGate gate = gates.get(exitGateId);
         if (gate == null || !gate.canProcessExit()) {
-            return Optional.empty();
+            return reject(RejectionReason.GATE_UNAVAILABLE);
         }
 
-        double amount = pricingStrategy.calculatePrice(ticket);
-        ticket.completeExit(amount);
+        long pricingStart = sampledMetrics != null ? System.nanoTime() : 0;
+        double amount = strategy.calculatePrice(ticket);
+        if (sampledMetrics != null) {
+            sampledMetrics.recordPricing(strategy.getStrategyName(), System.nanoTime() - pricingStart);
+        }
 
-        ticket.getAssignedSpot().free();
-        activeTickets.remove(ticketId);
+        ticket = activeTickets.remove(ticketId);
+        if (ticket == null) {
+            return reject(RejectionReason.UNKNOWN_TICKET);
+        }
+
+        try {
+            ParkingJournal current = journal;
+            if (current != null) {
+                current.logExit(ticketId);
+            }
+            ticket.completeExit(amount);
+            recordHistory(ticket, gate.getGateId());
+        } finally {
+            try {
+                notifyTicketClosed(ticket);
+            } finally {
+                ticket.getAssignedSpot().free();
+                releasePlate(ticket);
+            }
+        }
+
+        ParkingEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(new TicketClosedEvent(ticketId, ticket.getVehicle().getLicensePlate(),
+                    ticket.getAssignedSpot().getSpotId(), gate.getGateId(), ticket.getParkingDurationMillis(),
+                    amount, clock.millis()));
+        }
 
         return Optional.of(ticket);
     }
 
+    private void notifyTicketClosed(Ticket ticket) {
+        for (TicketCloseListener listener : ticketCloseListeners) {
+            listener.onTicketClosed(ticket);
+        }
+    }
+
+    private void recordHistory(Ticket ticket, String exitGateId) {
+        TicketHistoryStore currentHistory = history;
+        if (currentHistory == null) {
+            return;
+        }
+        try {
+            currentHistory.append(ticket, exitGateId);
+        } catch (RuntimeException e) {
+            pendingHistory.add(new PendingHistory(ticket, exitGateId));
+        }
+    }
+
+    public Optional<Ticket> moveOffCharger(String ticketId) {
+        mutationsStarted.increment();
+        try {
+            return tryMoveOffCharger(ticketId);
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private Optional<Ticket> tryMoveOffCharger(String ticketId) {
+        Ticket ticket = activeTickets.get(ticketId);
+        if (ticket == null || !ticket.getAssignedSpot().getSpotType().hasCharging()) {
+            return Optional.empty();
+        }
+
+        ParkingSpot chargingSpot = ticket.getAssignedSpot();
+        Vehicle vehicle = ticket.getVehicle();
+        ParkingSpot spot = null;
+        for (int i = 0; spot == null && i < NON_CHARGING_SPOT_GROUPS.length; i++) {
+            spot = claimNearest(vehicle, chargingSpot.getFloor(), NON_CHARGING_SPOT_GROUPS[i]);
+        }
+        if (spot == null) {
+            return Optional.empty();
+        }
+
+        Ticket moved = activeTickets.relocate(ticket, spot);
+        if (moved == null) {
+            spot.free();
+            return Optional.empty();
+        }
+        ticketsByPlate.replace(vehicle.getLicensePlate(), ticket, moved);
+
+        ParkingJournal current = journal;
+        if (current != null) {
+            current.logExit(ticketId);
+            current.logPark(moved);
+        }
+
+        chargingSpot.free();
+        return Optional.of(moved);
+    }
+
+    private ParkingSpot claimNearest(Vehicle vehicle, int floor, SpotType[] spotTypes) {
+        while (true) {
+            ParkingSpot spot = availableSpotIndex.findNearest(vehicle, floor, spotTypes);
+            if (spot == null) {
+                return null;
+            }
+            if (spot.tryOccupy(vehicle)) {
+                return spot;
+            }
+            availableSpotIndex.refresh(spot);
+        }
+    }
+
+    private Optional<Ticket> reject(RejectionReason reason) {
+        ParkingMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordRejection(reason);
+        }
+        return Optional.empty();
+    }
+
     public List<ParkingSpot> getAvailableSpots() {
-        return allSpots.values().stream()
-                .filter(ParkingSpot::isAvailable)
-                .collect(ArrayList::new, (list, spot) -> list.add(spot), ArrayList::addAll);
+        return availableSpotIndex.getAvailableSpots();
     }
 
     public List<ParkingSpot> getAvailableSpotsForFloor(int floor) {
-        return allSpots.values().stream()
-                .filter(spot -> spot.getFloor() == floor && spot.isAvailable())
-                .collect(ArrayList::new, (list, spot) -> list.add(spot), ArrayList::addAll);
+        return availableSpotIndex.getAvailableSpotsForFloor(floor);
+    }
+
+    public int countSpots(SpotQuery query) {
+        return spotBitmapIndex.count(query);
+    }
+
+    public List<ParkingSpot> findSpots(SpotQuery query) {
+        return spotBitmapIndex.find(query);
+    }
+
+    public List<ParkingSpot> findSpots(SpotQuery query, int limit) {
+        return spotBitmapIndex.find(query, limit);
     }
 
     public ParkingLotStatus getStatus() {
         Map<Integer, FloorStatus> floorStatusMap = new HashMap<>();
 
-        allSpots.values().forEach(spot -> {
-            int floor = spot.getFloor();
-            FloorStatus status = floorStatusMap.computeIfAbsent(floor,
-                    f -> new FloorStatus(f));
-            status.addSpot(spot);
-        });
+        for (int floor : occupancyCounters.getFloors()) {
+            floorStatusMap.put(floor, new FloorStatus(floor,
+                    occupancyCounters.total(floor),
+                    occupancyCounters.count(floor, SpotStatus.AVAILABLE),
+                    occupancyCounters.count(floor, SpotStatus.OCCUPIED),
+                    occupancyCounters.count(floor, SpotStatus.MAINTENANCE)));
+        }
 
         return new ParkingLotStatus(parkingLotName, floorStatusMap, activeTickets.size());
     }
 
+    public long getUnjournaledSpotTransitions() {
+        return unjournaledSpotTransitions.sum();
+    }
+
+    public OccupancyCounters getOccupancyCounters() {
+        return occupancyCounters;
+    }
+
+    public LotSnapshot captureSnapshot() {
+        for (int attempt = 1; ; attempt++) {
+            long completedBefore = mutationsCompleted.sum();
+            long startedBefore = mutationsStarted.sum();
+            long transitionsBefore = spotTransitions.sum();
+
+            ParkingSpot[] spots = allSpots.values().toArray(new ParkingSpot[0]);
+            SpotStatus[] statuses = new SpotStatus[spots.length];
+            Vehicle[] vehicles = new Vehicle[spots.length];
+            for (int i = 0; i < spots.length; i++) {
+                spots[i].captureState(statuses, vehicles, i);
+            }
+            Ticket[] tickets = activeTickets.values().toArray(new Ticket[0]);
+
+            boolean consistent = startedBefore == completedBefore && mutationsStarted.sum() == startedBefore
+                    && spotTransitions.sum() == transitionsBefore;
+            if (consistent || attempt == SNAPSHOT_ATTEMPTS) {
+                return new LotSnapshot(parkingLotName, spots, statuses, vehicles, tickets, consistent,
+                        clock.millis());
+            }
+            Thread.yield();
+        }
+    }
+
+    public boolean repair(AuditFinding finding) {
+        mutationsStarted.increment();
+        try {
+            return tryRepair(finding);
+        } finally {
+            mutationsCompleted.increment();
+        }
+    }
+
+    private boolean tryRepair(AuditFinding finding) {
+        switch (finding.getType()) {
+            case OCCUPIED_WITHOUT_TICKET:
+                return releaseOrphanedSpot(finding.getSpot(), finding.getVehicle());
+            case TICKET_ON_FREE_SPOT:
+                return reoccupyTicketSpot(finding.getTicket());
+            default:
+                return false;
+        }
+    }
+
+    private boolean releaseOrphanedSpot(ParkingSpot spot, Vehicle vehicle) {
+        if (!spot.equals(allSpots.get(spot.getSpotId())) || spot.getStatus() != SpotStatus.OCCUPIED
+                || spot.getCurrentVehicle() != vehicle) {
+            return false;
+        }
+        Ticket ticket = vehicle != null ? ticketsByPlate.get(vehicle.getLicensePlate()) : null;
+        if (ticket != null && ticket.getAssignedSpot().getSpotId().equals(spot.getSpotId())) {
+            return false;
+        }
+        spot.free();
+        if (vehicle != null && ticket == null) {
+            parkedPlates.remove(vehicle.getLicensePlate());
+        }
+        return true;
+    }
+
+    private boolean reoccupyTicketSpot(Ticket ticket) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        return activeTickets.get(ticket.getTicketId()) == ticket && spot.equals(allSpots.get(spot.getSpotId()))
+                && spot.tryOccupy(ticket.getVehicle());
+    }
+
     public Optional<ParkingSpot> findSpotById(String spotId) {
         return Optional.ofNullable(allSpots.get(spotId));
     }
@@ -131,12 +1014,114 @@ public class ParkingLotService {
         return Optional.ofNullable(activeTickets.get(ticketId));
     }
 
+    public Optional<Ticket> findTicketByPlate(String licensePlate) {
+        return Optional.ofNullable(ticketsByPlate.get(licensePlate));
+    }
+
+    private void releasePlate(Ticket ticket) {
+        String licensePlate = ticket.getVehicle().getLicensePlate();
+        if (ticketsByPlate.remove(licensePlate, ticket)) {
+            parkedPlates.remove(licensePlate);
+        }
+    }
+
     public List<EntryExitGate> getOperationalGates() {
         return gates.values().stream()
                 .filter(EntryExitGate::isOperational)
                 .collect(ArrayList::new, (list, gate) -> list.add(gate), ArrayList::addAll);
     }
 
+    private void publishSpotEvent(ParkingEventBus bus, ParkingSpot spot, SpotStatus oldStatus,
+            SpotStatus newStatus, Vehicle vehicle) {
+        if (newStatus == SpotStatus.OCCUPIED) {
+            bus.publish(new SpotOccupiedEvent(spot.getSpotId(), spot.getFloor(), spot.getSpotType(), oldStatus,
+                    vehicle != null ? vehicle.getLicensePlate() : null, clock.millis()));
+        } else if (newStatus == SpotStatus.AVAILABLE) {
+            bus.publish(new SpotFreedEvent(spot.getSpotId(), spot.getFloor(), spot.getSpotType(), oldStatus,
+                    clock.millis()));
+        }
+    }
+
+    private static boolean isTicketTransition(SpotStatus oldStatus, SpotStatus newStatus) {
+        return (oldStatus == SpotStatus.AVAILABLE || oldStatus == SpotStatus.OCCUPIED)
+                && (newStatus == SpotStatus.AVAILABLE || newStatus == SpotStatus.OCCUPIED);
+    }
+
+    private class SpotTransitions implements SpotStatusListener {
+
+        @Override
+        public void onStatusChanged(ParkingSpot spot, SpotStatus oldStatus, SpotStatus newStatus) {
+            spotTransitions.increment();
+            occupancyCounters.transition(spot, oldStatus, newStatus);
+            availableSpotIndex.refresh(spot);
+            spotBitmapIndex.refresh(spot);
+        }
+
+        @Override
+        public void onStatusPublished(ParkingSpot spot, SpotStatus oldStatus, SpotStatus newStatus,
+                Vehicle vehicle) {
+            ParkingJournal current = journal;
+            if (current != null && !isTicketTransition(oldStatus, newStatus)
+                    && oldStatus != SpotStatus.RESERVED && newStatus != SpotStatus.RESERVED) {
+                try {
+                    current.logSpotStatus(spot.getSpotId(), newStatus);
+                } catch (IllegalStateException e) {
+                    unjournaledSpotTransitions.increment();
+                }
+            }
+
+            ParkingEventBus bus = eventBus;
+            if (bus != null) {
+                publishSpotEvent(bus, spot, oldStatus, newStatus, vehicle);
+            }
+        }
+    }
+
+    public interface TicketCloseListener {
+        void onTicketClosed(Ticket ticket);
+    }
+
+    private class JournalRecovery implements JournalReplayHandler {
+
+        @Override
+        public void onPark(String ticketId, VehicleType vehicleType, String licensePlate, String ownerName,
+                boolean needsCharging, String spotId, String entryGate, long entryEpochMillis) {
+            ParkingSpot spot = allSpots.get(spotId);
+            if (spot == null || activeTickets.contains(ticketId) || parkedPlates.contains(licensePlate)) {
+                return;
+            }
+            Vehicle vehicle = VehicleFactory.createVehicle(vehicleType, licensePlate, ownerName, needsCharging);
+            if (!spot.tryOccupy(vehicle)) {
+                return;
+            }
+            Ticket ticket = activeTickets.issue(ticketId, vehicle, spot, entryGate, entryEpochMillis);
+            parkedPlates.add(licensePlate);
+            ticketsByPlate.put(licensePlate, ticket);
+        }
+
+        @Override
+        public void onExit(String ticketId) {
+            Ticket ticket = activeTickets.remove(ticketId);
+            if (ticket == null) {
+                return;
+            }
+            if (ticket.getVehicle().equals(ticket.getAssignedSpot().getCurrentVehicle())) {
+                ticket.getAssignedSpot().free();
+            }
+            releasePlate(ticket);
+        }
+
+        @Override
+        public void onSpotStatus(String spotId, SpotStatus status) {
+            ParkingSpot spot = allSpots.get(spotId);
+            if (spot == null || status == SpotStatus.OCCUPIED || status == SpotStatus.RESERVED
+                    || (status == SpotStatus.AVAILABLE && spot.getStatus() == SpotStatus.OCCUPIED)) {
+                return;
+            }
+            spot.setStatus(status);
+        }
+    }
+
     public static class ParkingLotStatus {
         private final String name;
         private final Map<Integer, FloorStatus> floors;
@@ -188,6 +1173,15 @@ public class ParkingLotService {
             this.floor = floor;
         }
 
+        public FloorStatus(int floor, int totalSpots, int availableSpots, int occupiedSpots,
+                int maintenanceSpots) {
+            this.floor = floor;
+            this.totalSpots = totalSpots;
+            this.availableSpots = availableSpots;
+            this.occupiedSpots = occupiedSpots;
+            this.maintenanceSpots = maintenanceSpots;
+        }
+
         public void addSpot(ParkingSpot spot) {
             totalSpots++;
             switch (spot.getStatus()) {
@@ -229,5 +1223,46 @@ public class ParkingLotService {
                     totalSpots, availableSpots, occupiedSpots, maintenanceSpots);
         }
     }
-}
 
+    private static class PendingHistory {
+        private final Ticket ticket;
+        private final String exitGateId;
+
+        PendingHistory(Ticket ticket, String exitGateId) {
+            this.ticket = ticket;
+            this.exitGateId = exitGateId;
+        }
+    }
+
+    private static class BatchGroup {
+        private final SpotType[][] searchOrder;
+        private final int[] items;
+        private final Vehicle[] vehicles;
+        private int size;
+
+        BatchGroup(SpotType[][] searchOrder, int capacity) {
+            this.searchOrder = searchOrder;
+            this.items = new int[capacity];
+            this.vehicles = new Vehicle[capacity];
+        }
+
+        void add(int item, Vehicle vehicle) {
+            items[size] = item;
+            vehicles[size++] = vehicle;
+        }
+
+        void claim(AvailableSpotIndex index, int fromFloor, ParkingSpot[] spots) {
+            ParkingSpot[] claimed = new ParkingSpot[size];
+            int next = 0;
+            for (SpotType[] spotTypes : searchOrder) {
+                next = index.claimNearest(vehicles, next, size, fromFloor, spotTypes, claimed);
+                if (next == size) {
+                    break;
+                }
+            }
+            for (int i = 0; i < next; i++) {
+                spots[items[i]] = claimed[i];
+            }
+        }
+    }
+}
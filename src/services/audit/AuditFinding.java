@@ -0,0 +1,60 @@
+package src.services.audit;
+
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+
+public class AuditFinding {
+    private final Type type;
+    private final ParkingSpot spot;
+    private final Ticket ticket;
+    private final Vehicle vehicle;
+
+    public AuditFinding(Type type, ParkingSpot spot, Ticket ticket, Vehicle vehicle) {
+        this.type = type;
+        this.spot = spot;
+        this.ticket = ticket;
+        this.vehicle = vehicle;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s Spot:%s Ticket:%s", type,
+                spot != null ? spot.getSpotId() : "-", ticket != null ? ticket.getTicketId() : "-");
+    }
+
+    public enum Type {
+        OCCUPIED_WITHOUT_TICKET("Occupied spot has no active ticket"),
+        TICKET_ON_FREE_SPOT("Active ticket points at a spot that is not occupied"),
+        TICKET_FOR_UNKNOWN_SPOT("Active ticket points at a spot that is not in the lot"),
+        DUPLICATE_TICKET_FOR_SPOT("More than one active ticket points at the spot"),
+        VEHICLE_MISMATCH("Spot holds a different vehicle than its ticket"),
+        VEHICLE_DOES_NOT_FIT("Vehicle cannot fit the spot type");
+
+        private final String description;
+
+        Type(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
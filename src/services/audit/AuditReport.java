@@ -0,0 +1,75 @@
+package src.services.audit;
+
+import src.services.audit.AuditFinding.Type;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class AuditReport {
+    private final String lotName;
+    private final int spotsChecked;
+    private final int ticketsChecked;
+    private final boolean snapshotConsistent;
+    private final List<AuditFinding> findings;
+    private final int repaired;
+    private final long elapsedNanos;
+
+    public AuditReport(String lotName, int spotsChecked, int ticketsChecked, boolean snapshotConsistent,
+            List<AuditFinding> findings, int repaired, long elapsedNanos) {
+        this.lotName = lotName;
+        this.spotsChecked = spotsChecked;
+        this.ticketsChecked = ticketsChecked;
+        this.snapshotConsistent = snapshotConsistent;
+        this.findings = findings;
+        this.repaired = repaired;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getLotName() {
+        return lotName;
+    }
+
+    public int getSpotsChecked() {
+        return spotsChecked;
+    }
+
+    public int getTicketsChecked() {
+        return ticketsChecked;
+    }
+
+    public boolean isSnapshotConsistent() {
+        return snapshotConsistent;
+    }
+
+    public List<AuditFinding> getFindings() {
+        return findings;
+    }
+
+    public int getRepaired() {
+        return repaired;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Map<Type, Integer> countByType() {
+        Map<Type, Integer> counts = new EnumMap<>(Type.class);
+        for (AuditFinding finding : findings) {
+            counts.merge(finding.getType(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public AuditReport withRepaired(int repairedFindings, long totalElapsedNanos) {
+        return new AuditReport(lotName, spotsChecked, ticketsChecked, snapshotConsistent, findings,
+                repairedFindings, totalElapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Audit[%s] Spots:%d Tickets:%d Consistent:%s Findings:%s Repaired:%d Time:%.1fms",
+                lotName, spotsChecked, ticketsChecked, snapshotConsistent, countByType(), repaired,
+                elapsedNanos / 1e6);
+    }
+}
@@ -0,0 +1,176 @@
+package src.services.audit;
+
+import src.enums.SpotStatus;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.services.audit.AuditFinding.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+public class LotAuditor {
+    private static final int SPLIT_THRESHOLD = 8192;
+    private static final int NO_TICKET = -1;
+
+    private final ForkJoinPool pool;
+
+    public LotAuditor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public LotAuditor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public AuditReport audit(LotSnapshot snapshot) {
+        return pool.invoke(new AuditTask(snapshot));
+    }
+
+    public AuditReport auditAndRepair(ParkingLotService service) {
+        return pool.invoke(new RepairTask(service));
+    }
+
+    public List<AuditReport> auditAndRepair(Collection<ParkingLotService> services) {
+        List<RepairTask> tasks = new ArrayList<>(services.size());
+        for (ParkingLotService service : services) {
+            tasks.add(new RepairTask(service));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        List<AuditReport> reports = new ArrayList<>(tasks.size());
+        for (RepairTask task : tasks) {
+            reports.add(task.join());
+        }
+        return reports;
+    }
+
+    private static AuditReport check(LotSnapshot snapshot) {
+        long start = System.nanoTime();
+        int spotCount = snapshot.getSpotCount();
+        int ticketCount = snapshot.getTicketCount();
+        Map<ParkingSpot, Integer> spotIndex = new ConcurrentHashMap<>(spotCount * 4 / 3 + 1);
+        AtomicIntegerArray ticketForSpot = new AtomicIntegerArray(spotCount);
+        ConcurrentLinkedQueue<AuditFinding> findings = new ConcurrentLinkedQueue<>();
+
+        new RangeTask(0, spotCount, i -> {
+            spotIndex.put(snapshot.getSpot(i), i);
+            ticketForSpot.lazySet(i, NO_TICKET);
+        }).invoke();
+
+        new RangeTask(0, ticketCount, t -> {
+            Ticket ticket = snapshot.getTicket(t);
+            ParkingSpot spot = ticket.getAssignedSpot();
+            Integer index = spotIndex.get(spot);
+            if (index == null) {
+                findings.add(new AuditFinding(Type.TICKET_FOR_UNKNOWN_SPOT, spot, ticket, ticket.getVehicle()));
+                return;
+            }
+            if (!ticketForSpot.compareAndSet(index, NO_TICKET, t)) {
+                findings.add(new AuditFinding(Type.DUPLICATE_TICKET_FOR_SPOT, spot, ticket, ticket.getVehicle()));
+                return;
+            }
+            if (snapshot.getStatus(index) != SpotStatus.OCCUPIED) {
+                findings.add(new AuditFinding(Type.TICKET_ON_FREE_SPOT, spot, ticket, ticket.getVehicle()));
+            } else if (snapshot.getVehicle(index) != ticket.getVehicle()) {
+                findings.add(new AuditFinding(Type.VEHICLE_MISMATCH, spot, ticket, ticket.getVehicle()));
+            }
+            if (!ticket.getVehicle().canFitInSpot(spot.getSpotType())) {
+                findings.add(new AuditFinding(Type.VEHICLE_DOES_NOT_FIT, spot, ticket, ticket.getVehicle()));
+            }
+        }).invoke();
+
+        new RangeTask(0, spotCount, i -> {
+            if (snapshot.getStatus(i) != SpotStatus.OCCUPIED || ticketForSpot.get(i) != NO_TICKET) {
+                return;
+            }
+            ParkingSpot spot = snapshot.getSpot(i);
+            Vehicle vehicle = snapshot.getVehicle(i);
+            findings.add(new AuditFinding(Type.OCCUPIED_WITHOUT_TICKET, spot, null, vehicle));
+            if (vehicle != null && !vehicle.canFitInSpot(spot.getSpotType())) {
+                findings.add(new AuditFinding(Type.VEHICLE_DOES_NOT_FIT, spot, null, vehicle));
+            }
+        }).invoke();
+
+        return new AuditReport(snapshot.getLotName(), spotCount, ticketCount, snapshot.isConsistent(),
+                new ArrayList<>(findings), 0, System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("serial")
+    private static class AuditTask extends RecursiveTask<AuditReport> {
+        private final LotSnapshot snapshot;
+
+        AuditTask(LotSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        protected AuditReport compute() {
+            return check(snapshot);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class RepairTask extends RecursiveTask<AuditReport> {
+        private final ParkingLotService service;
+
+        RepairTask(ParkingLotService service) {
+            this.service = service;
+        }
+
+        @Override
+        protected AuditReport compute() {
+            long start = System.nanoTime();
+            AuditReport report = check(service.captureSnapshot());
+            int repaired = 0;
+            for (AuditFinding finding : report.getFindings()) {
+                if (!report.isSnapshotConsistent()) {
+                    break;
+                }
+                if (service.repair(finding)) {
+                    repaired++;
+                }
+            }
+            return report.withRepaired(repaired, System.nanoTime() - start);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, action), new RangeTask(middle, to, action));
+        }
+    }
+}
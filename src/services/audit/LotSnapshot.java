@@ -0,0 +1,63 @@
+package src.services.audit;
+
+import src.enums.SpotStatus;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+
+public class LotSnapshot {
+    private final String lotName;
+    private final ParkingSpot[] spots;
+    private final SpotStatus[] statuses;
+    private final Vehicle[] vehicles;
+    private final Ticket[] tickets;
+    private final boolean consistent;
+    private final long capturedAtMillis;
+
+    public LotSnapshot(String lotName, ParkingSpot[] spots, SpotStatus[] statuses, Vehicle[] vehicles,
+            Ticket[] tickets, boolean consistent, long capturedAtMillis) {
+        this.lotName = lotName;
+        this.spots = spots;
+        this.statuses = statuses;
+        this.vehicles = vehicles;
+        this.tickets = tickets;
+        this.consistent = consistent;
+        this.capturedAtMillis = capturedAtMillis;
+    }
+
+    public String getLotName() {
+        return lotName;
+    }
+
+    public int getSpotCount() {
+        return spots.length;
+    }
+
+    public int getTicketCount() {
+        return tickets.length;
+    }
+
+    public ParkingSpot getSpot(int index) {
+        return spots[index];
+    }
+
+    public SpotStatus getStatus(int index) {
+        return statuses[index];
+    }
+
+    public Vehicle getVehicle(int index) {
+        return vehicles[index];
+    }
+
+    public Ticket getTicket(int index) {
+        return tickets[index];
+    }
+
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+}
@@ -0,0 +1,250 @@
+package src.services.charging;
+
+import src.enums.SpotType;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.services.charging.ChargingSession.State;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+public class ChargingScheduler {
+    private static final double DEFAULT_CHARGER_KW = 7.4;
+    private static final double DEFAULT_LARGE_CHARGER_KW = 22.0;
+
+    private final ParkingLotService service;
+    private final long powerBudgetWatts;
+    private final long chargerWatts;
+    private final long largeChargerWatts;
+    private final Map<String, ChargingSession> sessions;
+    private final Map<String, ChargingSession> sessionsBySpot;
+    private final PriorityQueue<ChargingSession> waiting;
+    private final PriorityQueue<ChargingSession> charging;
+    private boolean moveChargedVehicles;
+    private long allocatedWatts;
+    private long clockMillis;
+    private long nextSequence;
+    private int waitingCount;
+    private int chargingCount;
+    private long startedSessions;
+    private long completedSessions;
+    private long unpluggedSessions;
+    private long totalWaitMillis;
+    private double deliveredKwh;
+    private long movedOffCharger;
+    private long moveOffChargerFailures;
+
+    public ChargingScheduler(ParkingLotService service, double powerBudgetKw) {
+        this(service, powerBudgetKw, DEFAULT_CHARGER_KW, DEFAULT_LARGE_CHARGER_KW);
+    }
+
+    public ChargingScheduler(ParkingLotService service, double powerBudgetKw, double chargerKw,
+            double largeChargerKw) {
+        if (chargerKw <= 0 || largeChargerKw <= 0) {
+            throw new IllegalArgumentException("Charger power must be positive");
+        }
+        if (powerBudgetKw < Math.max(chargerKw, largeChargerKw)) {
+            throw new IllegalArgumentException("Power budget cannot run a single charger: " + powerBudgetKw);
+        }
+        this.service = service;
+        this.powerBudgetWatts = Math.round(powerBudgetKw * 1000);
+        this.chargerWatts = Math.round(chargerKw * 1000);
+        this.largeChargerWatts = Math.round(largeChargerKw * 1000);
+        this.sessions = new HashMap<>();
+        this.sessionsBySpot = new HashMap<>();
+        this.waiting = new PriorityQueue<>(Comparator.comparingLong(ChargingSession::getPriorityMillis)
+                .thenComparingLong(ChargingSession::getSequence));
+        this.charging = new PriorityQueue<>(Comparator.comparingLong(ChargingSession::getCompletionMillis)
+                .thenComparingLong(ChargingSession::getSequence));
+        this.moveChargedVehicles = true;
+        service.addTicketCloseListener(this::onTicketClosed);
+    }
+
+    public synchronized void setMoveChargedVehicles(boolean moveChargedVehicles) {
+        this.moveChargedVehicles = moveChargedVehicles;
+    }
+
+    public synchronized Optional<ChargingSession> plugIn(Ticket ticket, double requestedKwh, long nowMillis) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        if (!spot.getSpotType().hasCharging() || !ticket.getVehicle().needsCharging() || requestedKwh <= 0
+                || sessions.containsKey(ticket.getTicketId()) || sessionsBySpot.containsKey(spot.getSpotId())
+                || !isActive(ticket.getTicketId(), spot)) {
+            return Optional.empty();
+        }
+        advance(nowMillis);
+
+        long powerWatts = spot.getSpotType() == SpotType.CHARGING_LARGE ? largeChargerWatts : chargerWatts;
+        ChargingSession session = new ChargingSession(ticket.getTicketId(), ticket.getVehicle(), spot,
+                requestedKwh, powerWatts, nowMillis, nextSequence++);
+        sessions.put(session.getTicketId(), session);
+        sessionsBySpot.put(spot.getSpotId(), session);
+        waiting.add(session);
+        waitingCount++;
+        dispatch(nowMillis);
+        return Optional.of(session);
+    }
+
+    public synchronized Optional<ChargingSession> unplug(String ticketId, long nowMillis) {
+        advance(nowMillis);
+        ChargingSession session = sessions.get(ticketId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        end(session, nowMillis);
+        dispatch(nowMillis);
+        return Optional.of(session);
+    }
+
+    private synchronized void onTicketClosed(Ticket ticket) {
+        ChargingSession session = sessions.get(ticket.getTicketId());
+        if (session == null) {
+            return;
+        }
+        end(session, clockMillis);
+        dispatch(clockMillis);
+    }
+
+    private void end(ChargingSession session, long nowMillis) {
+        sessions.remove(session.getTicketId());
+        sessionsBySpot.remove(session.getSpot().getSpotId());
+        if (session.getState() == State.CHARGING) {
+            chargingCount--;
+            allocatedWatts -= session.getPowerWatts();
+        } else {
+            waitingCount--;
+        }
+        session.unplug(nowMillis);
+        unpluggedSessions++;
+        deliveredKwh += session.getDeliveredKwh();
+        totalWaitMillis += session.getWaitMillis(nowMillis);
+    }
+
+    private boolean isActive(String ticketId, ParkingSpot spot) {
+        Optional<Ticket> active = service.findActiveTicket(ticketId);
+        return active.isPresent() && active.get().getAssignedSpot().getSpotId().equals(spot.getSpotId());
+    }
+
+    public synchronized List<ChargingSession> advance(long nowMillis) {
+        clockMillis = Math.max(clockMillis, nowMillis);
+        List<ChargingSession> completed = new ArrayList<>();
+        while (!charging.isEmpty() && charging.peek().getCompletionMillis() <= nowMillis) {
+            ChargingSession session = charging.poll();
+            if (session.getState() != State.CHARGING) {
+                continue;
+            }
+            long completedAt = session.getCompletionMillis();
+            complete(session, completedAt);
+            completed.add(session);
+            dispatch(completedAt);
+        }
+        return completed;
+    }
+
+    private void complete(ChargingSession session, long nowMillis) {
+        sessions.remove(session.getTicketId());
+        sessionsBySpot.remove(session.getSpot().getSpotId());
+        chargingCount--;
+        allocatedWatts -= session.getPowerWatts();
+        session.complete(nowMillis);
+        completedSessions++;
+        deliveredKwh += session.getDeliveredKwh();
+        totalWaitMillis += session.getWaitMillis(nowMillis);
+
+        session.getVehicle().markCharged();
+        if (moveChargedVehicles) {
+            boolean moved = service.moveOffCharger(session.getTicketId()).isPresent();
+            session.setMovedOffCharger(moved);
+            if (moved) {
+                movedOffCharger++;
+            } else {
+                moveOffChargerFailures++;
+            }
+        }
+    }
+
+    private void dispatch(long nowMillis) {
+        while (!waiting.isEmpty()) {
+            ChargingSession head = waiting.peek();
+            if (head.getState() != State.WAITING) {
+                waiting.poll();
+                continue;
+            }
+            if (!isActive(head.getTicketId(), head.getSpot())) {
+                waiting.poll();
+                end(head, nowMillis);
+                continue;
+            }
+            if (allocatedWatts + head.getPowerWatts() > powerBudgetWatts) {
+                return;
+            }
+            waiting.poll();
+            waitingCount--;
+            head.start(nowMillis);
+            allocatedWatts += head.getPowerWatts();
+            chargingCount++;
+            startedSessions++;
+            charging.add(head);
+        }
+    }
+
+    public synchronized Optional<ChargingSession> findSession(String ticketId) {
+        return Optional.ofNullable(sessions.get(ticketId));
+    }
+
+    public synchronized int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public synchronized int getChargingCount() {
+        return chargingCount;
+    }
+
+    public synchronized double getAllocatedKw() {
+        return allocatedWatts / 1000.0;
+    }
+
+    public double getPowerBudgetKw() {
+        return powerBudgetWatts / 1000.0;
+    }
+
+    public synchronized long getStartedSessions() {
+        return startedSessions;
+    }
+
+    public synchronized long getCompletedSessions() {
+        return completedSessions;
+    }
+
+    public synchronized long getUnpluggedSessions() {
+        return unpluggedSessions;
+    }
+
+    public synchronized double getDeliveredKwh() {
+        return deliveredKwh;
+    }
+
+    public synchronized double getAverageWaitMillis() {
+        long finished = completedSessions + unpluggedSessions;
+        return finished == 0 ? 0 : (double) totalWaitMillis / finished;
+    }
+
+    public synchronized long getMovedOffCharger() {
+        return movedOffCharger;
+    }
+
+    public synchronized long getMoveOffChargerFailures() {
+        return moveOffChargerFailures;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ChargingScheduler Budget:%.1fkW Allocated:%.1fkW Charging:%d Waiting:%d "
+                + "Completed:%d Delivered:%.1fkWh", getPowerBudgetKw(), getAllocatedKw(), chargingCount,
+                waitingCount, completedSessions, deliveredKwh);
+    }
+}
@@ -0,0 +1,142 @@
+package src.services.charging;
+
+import src.models.parking.ParkingSpot;
+import src.models.vehicles.Vehicle;
+
+public class ChargingSession {
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final long NOT_STARTED = -1;
+
+    public enum State {
+        WAITING, CHARGING, COMPLETED, UNPLUGGED
+    }
+
+    private final String ticketId;
+    private final Vehicle vehicle;
+    private final ParkingSpot spot;
+    private final double requestedKwh;
+    private final long powerWatts;
+    private final long pluggedInMillis;
+    private final long chargeDurationMillis;
+    private final long sequence;
+    private State state;
+    private long chargingStartMillis;
+    private long endMillis;
+    private double deliveredKwh;
+    private boolean movedOffCharger;
+
+    ChargingSession(String ticketId, Vehicle vehicle, ParkingSpot spot, double requestedKwh, long powerWatts,
+            long pluggedInMillis, long sequence) {
+        this.ticketId = ticketId;
+        this.vehicle = vehicle;
+        this.spot = spot;
+        this.requestedKwh = requestedKwh;
+        this.powerWatts = powerWatts;
+        this.pluggedInMillis = pluggedInMillis;
+        this.chargeDurationMillis = (long) Math.ceil(requestedKwh * 1000 / powerWatts * MILLIS_PER_HOUR);
+        this.sequence = sequence;
+        this.state = State.WAITING;
+        this.chargingStartMillis = NOT_STARTED;
+    }
+
+    void start(long nowMillis) {
+        state = State.CHARGING;
+        chargingStartMillis = nowMillis;
+    }
+
+    void complete(long nowMillis) {
+        state = State.COMPLETED;
+        endMillis = nowMillis;
+        deliveredKwh = requestedKwh;
+    }
+
+    void unplug(long nowMillis) {
+        if (state == State.CHARGING) {
+            deliveredKwh = Math.min(requestedKwh,
+                    powerWatts / 1000.0 * (nowMillis - chargingStartMillis) / MILLIS_PER_HOUR);
+        }
+        state = State.UNPLUGGED;
+        endMillis = nowMillis;
+    }
+
+    void setMovedOffCharger(boolean movedOffCharger) {
+        this.movedOffCharger = movedOffCharger;
+    }
+
+    long getPriorityMillis() {
+        return pluggedInMillis + chargeDurationMillis;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    long getPowerWatts() {
+        return powerWatts;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public double getRequestedKwh() {
+        return requestedKwh;
+    }
+
+    public double getPowerKw() {
+        return powerWatts / 1000.0;
+    }
+
+    public long getPluggedInMillis() {
+        return pluggedInMillis;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getChargingStartMillis() {
+        return chargingStartMillis;
+    }
+
+    public long getCompletionMillis() {
+        return chargingStartMillis + chargeDurationMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    public boolean hasStarted() {
+        return chargingStartMillis != NOT_STARTED;
+    }
+
+    public long getWaitMillis(long nowMillis) {
+        if (hasStarted()) {
+            return chargingStartMillis - pluggedInMillis;
+        }
+        return (state == State.UNPLUGGED ? endMillis : nowMillis) - pluggedInMillis;
+    }
+
+    public double getDeliveredKwh() {
+        return deliveredKwh;
+    }
+
+    public boolean isMovedOffCharger() {
+        return movedOffCharger;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ChargingSession[%s] Spot:%s State:%s Requested:%.1fkWh Delivered:%.1fkWh Power:%.1fkW",
+                ticketId, spot.getSpotId(), state, requestedKwh, deliveredKwh, getPowerKw());
+    }
+}
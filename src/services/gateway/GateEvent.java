@@ -0,0 +1,81 @@
+package src.services.gateway;
+
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class GateEvent {
+    private final EventType eventType;
+    private final String gateId;
+    private final Vehicle vehicle;
+    private final String ticketId;
+    private final String licensePlate;
+    private final CompletableFuture<Optional<Ticket>> result;
+    private long enqueuedNanos;
+
+    private GateEvent(EventType eventType, String gateId, Vehicle vehicle, String ticketId, String licensePlate) {
+        this.eventType = eventType;
+        this.gateId = gateId;
+        this.vehicle = vehicle;
+        this.ticketId = ticketId;
+        this.licensePlate = licensePlate;
+        this.result = new CompletableFuture<>();
+    }
+
+    public static GateEvent entry(String gateId, Vehicle vehicle) {
+        return new GateEvent(EventType.ENTRY, gateId, vehicle, null, vehicle.getLicensePlate());
+    }
+
+    public static GateEvent exit(String gateId, String ticketId) {
+        return new GateEvent(EventType.EXIT, gateId, null, ticketId, null);
+    }
+
+    public static GateEvent exitByPlate(String gateId, String licensePlate) {
+        return new GateEvent(EventType.EXIT_BY_PLATE, gateId, null, null, licensePlate);
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public CompletableFuture<Optional<Ticket>> getResult() {
+        return result;
+    }
+
+    public long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    void markEnqueued() {
+        this.enqueuedNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GateEvent[%s] Gate:%s %s", eventType, gateId,
+                ticketId != null ? ticketId : licensePlate);
+    }
+
+    public enum EventType {
+        ENTRY,
+        EXIT,
+        EXIT_BY_PLATE
+    }
+}
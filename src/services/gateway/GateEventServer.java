@@ -0,0 +1,219 @@
+package src.services.gateway;
+
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GateEventServer implements AutoCloseable {
+    private final ParkingLotService service;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxInFlightEvents;
+    private final Semaphore inFlight;
+    private final Map<String, GateLane> lanes;
+    private final LongAdder processedEvents;
+    private final LongAdder rejectedEvents;
+    private final LongAdder processingNanos;
+    private final GateLoadTracker loadTracker;
+    private final long gateServiceNanos;
+    private volatile boolean closed;
+
+    public GateEventServer(ParkingLotService service, int maxInFlightEvents) {
+        this(service, maxInFlightEvents, newPerTaskExecutor(), GateLoadTracker.DEFAULT_SERVICE_NANOS, true);
+    }
+
+    public GateEventServer(ParkingLotService service, int maxInFlightEvents, ExecutorService executor) {
+        this(service, maxInFlightEvents, executor, GateLoadTracker.DEFAULT_SERVICE_NANOS);
+    }
+
+    public GateEventServer(ParkingLotService service, int maxInFlightEvents, ExecutorService executor,
+            long gateServiceNanos) {
+        this(service, maxInFlightEvents, executor, gateServiceNanos, false);
+    }
+
+    private GateEventServer(ParkingLotService service, int maxInFlightEvents, ExecutorService executor,
+            long gateServiceNanos, boolean ownsExecutor) {
+        this.service = service;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxInFlightEvents = maxInFlightEvents;
+        this.inFlight = new Semaphore(maxInFlightEvents);
+        this.lanes = new ConcurrentHashMap<>();
+        this.processedEvents = new LongAdder();
+        this.rejectedEvents = new LongAdder();
+        this.processingNanos = new LongAdder();
+        this.loadTracker = new GateLoadTracker(gateServiceNanos);
+        this.gateServiceNanos = gateServiceNanos;
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "gate-event-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public GateEvent submit(GateEvent event) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Gate event server is closed");
+        }
+        inFlight.acquire();
+        enqueue(event);
+        return event;
+    }
+
+    public boolean offer(GateEvent event) {
+        if (closed || !inFlight.tryAcquire()) {
+            rejectedEvents.increment();
+            return false;
+        }
+        enqueue(event);
+        return true;
+    }
+
+    public boolean offer(GateEvent event, long timeout, TimeUnit unit) throws InterruptedException {
+        if (closed || !inFlight.tryAcquire(timeout, unit)) {
+            rejectedEvents.increment();
+            return false;
+        }
+        enqueue(event);
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long getProcessedEvents() {
+        return processedEvents.sum();
+    }
+
+    public long getRejectedEvents() {
+        return rejectedEvents.sum();
+    }
+
+    public double getAverageProcessingNanos() {
+        long processed = processedEvents.sum();
+        return processed == 0 ? 0 : (double) processingNanos.sum() / processed;
+    }
+
+    public int getQueueDepth(String gateId) {
+        return loadTracker.getQueueDepth(gateId);
+    }
+
+    public GateLoadTracker getLoadTracker() {
+        return loadTracker;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (ownsExecutor) {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } else if (inFlight.tryAcquire(maxInFlightEvents, 10, TimeUnit.SECONDS)) {
+                inFlight.release(maxInFlightEvents);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(GateEvent event) {
+        event.markEnqueued();
+        GateLane lane = lanes.computeIfAbsent(event.getGateId(), GateLane::new);
+        loadTracker.onQueued(event.getGateId());
+        lane.events.add(event);
+        lane.schedule();
+    }
+
+    private Optional<Ticket> process(GateEvent event) {
+        switch (event.getEventType()) {
+            case ENTRY:
+                return service.parkVehicle(event.getVehicle(), event.getGateId());
+            case EXIT:
+                return service.exitVehicle(event.getTicketId(), event.getGateId());
+            case EXIT_BY_PLATE:
+                return service.exitByPlate(event.getLicensePlate(), event.getGateId());
+            default:
+                throw new IllegalArgumentException("Unsupported gate event: " + event.getEventType());
+        }
+    }
+
+    private class GateLane {
+        private final String gateId;
+        private final Queue<GateEvent> events;
+        private final AtomicBoolean scheduled;
+
+        GateLane(String gateId) {
+            this.gateId = gateId;
+            this.events = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean();
+        }
+
+        void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                rejectQueued();
+                scheduled.set(false);
+            }
+        }
+
+        private void rejectQueued() {
+            GateEvent event;
+            while ((event = events.poll()) != null) {
+                event.getResult().completeExceptionally(new IllegalStateException("Gate event server is closed"));
+                loadTracker.onDropped(gateId);
+                rejectedEvents.increment();
+                inFlight.release();
+            }
+        }
+
+        private void drain() {
+            do {
+                GateEvent event;
+                while ((event = events.poll()) != null) {
+                    long start = System.nanoTime();
+                    try {
+                        event.getResult().complete(process(event));
+                    } catch (RuntimeException e) {
+                        event.getResult().completeExceptionally(e);
+                    } finally {
+                        long end = System.nanoTime();
+                        processingNanos.add(end - start);
+                        loadTracker.onCompleted(gateId, gateServiceNanos, end);
+                        processedEvents.increment();
+                        inFlight.release();
+                    }
+                }
+                scheduled.set(false);
+            } while (!events.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GateLane[%s] Queued:%d", gateId, events.size());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package src.services.gateway;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GateLoadTracker {
+    private static final double SMOOTHING = 0.2;
+    static final long DEFAULT_SERVICE_NANOS = 10_000_000_000L;
+
+    private final Map<String, GateLoad> loads;
+    private final long initialServiceNanos;
+
+    public GateLoadTracker() {
+        this(DEFAULT_SERVICE_NANOS);
+    }
+
+    public GateLoadTracker(long initialServiceNanos) {
+        if (initialServiceNanos <= 0) {
+            throw new IllegalArgumentException("Initial service time must be positive: " + initialServiceNanos);
+        }
+        this.loads = new ConcurrentHashMap<>();
+        this.initialServiceNanos = initialServiceNanos;
+    }
+
+    public void onQueued(String gateId) {
+        load(gateId).queued.incrementAndGet();
+    }
+
+    public void onCompleted(String gateId, long serviceNanos, long nowNanos) {
+        GateLoad load = load(gateId);
+        load.queued.decrementAndGet();
+        load.completed.increment();
+        load.recordCompletion(serviceNanos, nowNanos);
+    }
+
+    public void onDropped(String gateId) {
+        load(gateId).queued.decrementAndGet();
+    }
+
+    public int getQueueDepth(String gateId) {
+        GateLoad load = loads.get(gateId);
+        return load != null ? Math.max(0, load.queued.get()) : 0;
+    }
+
+    public long getCompleted(String gateId) {
+        GateLoad load = loads.get(gateId);
+        return load != null ? load.completed.sum() : 0;
+    }
+
+    public double getAverageServiceNanos(String gateId) {
+        GateLoad load = loads.get(gateId);
+        return load != null ? load.averageServiceNanos : initialServiceNanos;
+    }
+
+    public double getThroughputPerSecond(String gateId) {
+        GateLoad load = loads.get(gateId);
+        return load != null && load.averageIntervalNanos > 0 ? 1e9 / load.averageIntervalNanos : 0;
+    }
+
+    public long estimateWaitNanos(String gateId) {
+        return (long) (getQueueDepth(gateId) * getAverageServiceNanos(gateId));
+    }
+
+    private GateLoad load(String gateId) {
+        GateLoad load = loads.get(gateId);
+        return load != null ? load : loads.computeIfAbsent(gateId, id -> new GateLoad(initialServiceNanos));
+    }
+
+    private static class GateLoad {
+        private final AtomicInteger queued;
+        private final LongAdder completed;
+        private volatile double averageServiceNanos;
+        private volatile double averageIntervalNanos;
+        private long lastCompletionNanos;
+        private boolean hasCompletion;
+
+        GateLoad(long initialServiceNanos) {
+            this.queued = new AtomicInteger();
+            this.completed = new LongAdder();
+            this.averageServiceNanos = initialServiceNanos;
+        }
+
+        synchronized void recordCompletion(long serviceNanos, long nowNanos) {
+            averageServiceNanos += SMOOTHING * (serviceNanos - averageServiceNanos);
+            if (hasCompletion) {
+                long interval = nowNanos - lastCompletionNanos;
+                averageIntervalNanos = averageIntervalNanos == 0 ? interval
+                        : averageIntervalNanos + SMOOTHING * (interval - averageIntervalNanos);
+            }
+            lastCompletionNanos = nowNanos;
+            hasCompletion = true;
+        }
+    }
+}
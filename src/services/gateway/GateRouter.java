@@ -0,0 +1,92 @@
+package src.services.gateway;
+
+import src.models.gates.EntryExitGate;
+import src.models.parking.SpotQuery;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+
+public class GateRouter {
+    private static final long DEFAULT_FLOOR_TRAVEL_NANOS = 30_000_000_000L;
+
+    private final ParkingLotService service;
+    private final GateLoadTracker loadTracker;
+    private final long floorTravelNanos;
+
+    public GateRouter(ParkingLotService service, GateLoadTracker loadTracker) {
+        this(service, loadTracker, DEFAULT_FLOOR_TRAVEL_NANOS);
+    }
+
+    public GateRouter(ParkingLotService service, GateLoadTracker loadTracker, long floorTravelNanos) {
+        if (floorTravelNanos < 0) {
+            throw new IllegalArgumentException("Floor travel time cannot be negative: " + floorTravelNanos);
+        }
+        this.service = service;
+        this.loadTracker = loadTracker;
+        this.floorTravelNanos = floorTravelNanos;
+    }
+
+    public Optional<EntryExitGate> recommendEntryGate(Vehicle vehicle, int approachFloor) {
+        NavigableSet<Integer> floors = service.getOccupancyCounters().getFloors();
+        Map<Integer, Integer> capacityDistance = new HashMap<>();
+        EntryExitGate best = null;
+        long bestCost = Long.MAX_VALUE;
+
+        for (EntryExitGate gate : service.getOperationalGates()) {
+            if (!gate.canProcessEntry()) {
+                continue;
+            }
+            int distance = capacityDistance.computeIfAbsent(gate.getFloor(),
+                    floor -> nearestCapacity(vehicle, floor, floors));
+            if (distance == Integer.MAX_VALUE) {
+                continue;
+            }
+            long cost = cost(gate, approachFloor, distance);
+            if (best == null || cost < bestCost
+                    || (cost == bestCost && gate.getGateId().compareTo(best.getGateId()) < 0)) {
+                best = gate;
+                bestCost = cost;
+            }
+        }
+
+        return Optional.ofNullable(best);
+    }
+
+    public long estimateEntryNanos(EntryExitGate gate, Vehicle vehicle, int approachFloor) {
+        int distance = nearestCapacity(vehicle, gate.getFloor(), service.getOccupancyCounters().getFloors());
+        if (distance == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return cost(gate, approachFloor, distance);
+    }
+
+    private long cost(EntryExitGate gate, int approachFloor, int capacityDistance) {
+        return loadTracker.estimateWaitNanos(gate.getGateId())
+                + floorTravelNanos * (Math.abs(gate.getFloor() - approachFloor) + capacityDistance);
+    }
+
+    private int nearestCapacity(Vehicle vehicle, int fromFloor, NavigableSet<Integer> floors) {
+        SpotQuery fits = SpotQuery.available().withVehicle(vehicle);
+        Integer up = floors.ceiling(fromFloor);
+        Integer down = floors.lower(fromFloor);
+        while (up != null || down != null) {
+            int upDistance = up != null ? up - fromFloor : Integer.MAX_VALUE;
+            int downDistance = down != null ? fromFloor - down : Integer.MAX_VALUE;
+            if (upDistance <= downDistance) {
+                if (service.countSpots(fits.withFloor(up)) > 0) {
+                    return upDistance;
+                }
+                up = floors.higher(up);
+            } else {
+                if (service.countSpots(fits.withFloor(down)) > 0) {
+                    return downDistance;
+                }
+                down = floors.lower(down);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,128 @@
+package src.services.reservation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class HashedTimingWheel<T> {
+    private final long startMillis;
+    private final long tickMillis;
+    private final int mask;
+    private final Timeout<T>[] buckets;
+    private long currentTick;
+    private volatile long nextTickMillis;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms: " + tickMillis);
+        }
+        this.startMillis = startMillis;
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[wheelSize];
+        this.nextTickMillis = startMillis + tickMillis;
+    }
+
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(currentTick + 1, ceilDiv(deadlineMillis - startMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        int bucket = (int) (deadlineTick & mask);
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        buckets[bucket] = timeout;
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.state != Timeout.PENDING) {
+            return false;
+        }
+        unlink(timeout);
+        timeout.state = Timeout.CANCELLED;
+        return true;
+    }
+
+    public List<Timeout<T>> advance(long nowMillis) {
+        if (nowMillis < nextTickMillis) {
+            return Collections.emptyList();
+        }
+        synchronized (this) {
+            long nowTick = (nowMillis - startMillis) / tickMillis;
+            if (nowTick <= currentTick) {
+                return Collections.emptyList();
+            }
+            List<Timeout<T>> expired = new ArrayList<>();
+            long lastTick = Math.min(nowTick, currentTick + buckets.length);
+            for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+                Timeout<T> timeout = buckets[(int) (tick & mask)];
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    if (timeout.deadlineTick <= nowTick) {
+                        unlink(timeout);
+                        timeout.state = Timeout.EXPIRED;
+                        expired.add(timeout);
+                    }
+                    timeout = next;
+                }
+            }
+            currentTick = nowTick;
+            nextTickMillis = startMillis + (nowTick + 1) * tickMillis;
+            return expired;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        size--;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    public static final class Timeout<T> {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private int state;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
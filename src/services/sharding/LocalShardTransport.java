@@ -0,0 +1,51 @@
+package src.services.sharding;
+
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService;
+import src.services.ParkingLotService.ParkingLotStatus;
+import src.strategies.ticketing.MonotonicTicketIdGenerator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LocalShardTransport implements ShardTransport {
+    private final Map<Integer, ParkingLotService> shards;
+
+    public LocalShardTransport() {
+        this.shards = new ConcurrentHashMap<>();
+    }
+
+    public void addShard(int shardId, ParkingLotService service) {
+        service.setTicketIdGenerator(new MonotonicTicketIdGenerator(shardId));
+        shards.put(shardId, service);
+    }
+
+    public ParkingLotService getShard(int shardId) {
+        ParkingLotService service = shards.get(shardId);
+        if (service == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shardId);
+        }
+        return service;
+    }
+
+    @Override
+    public Optional<Ticket> park(int shardId, Vehicle vehicle, String entryGateId) {
+        return getShard(shardId).parkVehicle(vehicle, entryGateId);
+    }
+
+    @Override
+    public Optional<Ticket> exit(int shardId, String ticketId, String exitGateId) {
+        return getShard(shardId).exitVehicle(ticketId, exitGateId);
+    }
+
+    @Override
+    public Optional<Ticket> exitByPlate(int shardId, String licensePlate, String exitGateId) {
+        return getShard(shardId).exitByPlate(licensePlate, exitGateId);
+    }
+
+    @Override
+    public ParkingLotStatus status(int shardId) {
+        return getShard(shardId).getStatus();
+    }
+}
@@ -0,0 +1,199 @@
+package src.services.sharding;
+
+import src.models.gates.EntryExitGate;
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService.FloorStatus;
+import src.services.ParkingLotService.ParkingLotStatus;
+import src.strategies.ticketing.MonotonicTicketIdGenerator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ShardRouter {
+    private final String parkingLotName;
+    private final ShardTransport transport;
+    private final Map<Integer, NavigableSet<Integer>> floorsByShard;
+    private final Map<String, EntryExitGate> gates;
+    private final Map<String, Integer> gateOwners;
+    private final Map<Integer, List<EntryExitGate>> gatesByShard;
+    private final Map<String, Integer> shardsByPlate;
+    private volatile Map<Integer, int[]> routesByFloor;
+
+    public ShardRouter(String parkingLotName, ShardTransport transport) {
+        this.parkingLotName = parkingLotName;
+        this.transport = transport;
+        this.floorsByShard = new ConcurrentHashMap<>();
+        this.gates = new ConcurrentHashMap<>();
+        this.gateOwners = new ConcurrentHashMap<>();
+        this.gatesByShard = new ConcurrentHashMap<>();
+        this.shardsByPlate = new ConcurrentHashMap<>();
+        this.routesByFloor = new HashMap<>();
+    }
+
+    public synchronized void assignFloors(int shardId, Collection<Integer> floors) {
+        floorsByShard.put(shardId, new TreeSet<>(floors));
+        routesByFloor = new HashMap<>();
+    }
+
+    public synchronized void addGates(int shardId, List<EntryExitGate> gateList) {
+        for (EntryExitGate gate : gateList) {
+            Integer owner = gateOwners.get(gate.getGateId());
+            if (owner != null && owner != shardId) {
+                throw new IllegalArgumentException("Gate " + gate.getGateId() + " already belongs to shard " + owner);
+            }
+        }
+        List<EntryExitGate> shardGates = new ArrayList<>(gatesByShard.getOrDefault(shardId, List.of()));
+        for (EntryExitGate gate : gateList) {
+            shardGates.removeIf(existing -> existing.getGateId().equals(gate.getGateId()));
+            shardGates.add(gate);
+            gates.put(gate.getGateId(), gate);
+            gateOwners.put(gate.getGateId(), shardId);
+        }
+        gatesByShard.put(shardId, List.copyOf(shardGates));
+    }
+
+    public Optional<Ticket> parkVehicle(Vehicle vehicle, String entryGateId) {
+        EntryExitGate gate = gates.get(entryGateId);
+        if (gate == null || !gate.canProcessEntry()) {
+            return Optional.empty();
+        }
+
+        String licensePlate = vehicle.getLicensePlate();
+        if (shardsByPlate.putIfAbsent(licensePlate, -1) != null) {
+            return Optional.empty();
+        }
+
+        for (int shardId : routeFrom(gate.getFloor())) {
+            String shardGateId = shardGateFor(shardId, gate, true);
+            if (shardGateId == null) {
+                continue;
+            }
+            Optional<Ticket> ticket = transport.park(shardId, vehicle, shardGateId);
+            if (ticket.isPresent()) {
+                shardsByPlate.put(licensePlate, shardId);
+                return ticket;
+            }
+        }
+
+        shardsByPlate.remove(licensePlate);
+        return Optional.empty();
+    }
+
+    public Optional<Ticket> exitVehicle(String ticketId, String exitGateId) {
+        int shardId;
+        try {
+            shardId = MonotonicTicketIdGenerator.nodeOf(ticketId);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        String shardGateId = floorsByShard.containsKey(shardId) ? exitGateFor(shardId, exitGateId) : null;
+        if (shardGateId == null) {
+            return Optional.empty();
+        }
+
+        Optional<Ticket> ticket = transport.exit(shardId, ticketId, shardGateId);
+        ticket.ifPresent(t -> shardsByPlate.remove(t.getVehicle().getLicensePlate(), shardId));
+        return ticket;
+    }
+
+    public Optional<Ticket> exitByPlate(String licensePlate, String exitGateId) {
+        Integer shardId = shardsByPlate.get(licensePlate);
+        String shardGateId = shardId != null && shardId >= 0 ? exitGateFor(shardId, exitGateId) : null;
+        if (shardGateId == null) {
+            return Optional.empty();
+        }
+
+        Optional<Ticket> ticket = transport.exitByPlate(shardId, licensePlate, shardGateId);
+        ticket.ifPresent(t -> shardsByPlate.remove(licensePlate, shardId));
+        return ticket;
+    }
+
+    public Optional<Integer> findShardByPlate(String licensePlate) {
+        Integer shardId = shardsByPlate.get(licensePlate);
+        return shardId != null && shardId >= 0 ? Optional.of(shardId) : Optional.empty();
+    }
+
+    public ParkingLotStatus getStatus() {
+        Map<Integer, FloorStatus> floors = new HashMap<>();
+        int activeVehicles = 0;
+        for (int shardId : floorsByShard.keySet()) {
+            ParkingLotStatus shardStatus = transport.status(shardId);
+            floors.putAll(shardStatus.getFloors());
+            activeVehicles += shardStatus.getActiveVehicles();
+        }
+        return new ParkingLotStatus(parkingLotName, floors, activeVehicles);
+    }
+
+    private String exitGateFor(int shardId, String exitGateId) {
+        EntryExitGate gate = gates.get(exitGateId);
+        return gate != null && gate.canProcessExit() ? shardGateFor(shardId, gate, false) : null;
+    }
+
+    private String shardGateFor(int shardId, EntryExitGate gate, boolean entry) {
+        Integer owner = gateOwners.get(gate.getGateId());
+        if (owner != null && owner == shardId) {
+            return gate.getGateId();
+        }
+        EntryExitGate nearest = null;
+        for (EntryExitGate candidate : gatesByShard.getOrDefault(shardId, List.of())) {
+            if (!(entry ? candidate.canProcessEntry() : candidate.canProcessExit())) {
+                continue;
+            }
+            if (nearest == null || isCloser(candidate, nearest, gate.getFloor())) {
+                nearest = candidate;
+            }
+        }
+        return nearest != null ? nearest.getGateId() : null;
+    }
+
+    private static boolean isCloser(EntryExitGate candidate, EntryExitGate best, int floor) {
+        int candidateDistance = Math.abs(candidate.getFloor() - floor);
+        int bestDistance = Math.abs(best.getFloor() - floor);
+        return candidateDistance < bestDistance
+                || candidateDistance == bestDistance && candidate.getGateId().compareTo(best.getGateId()) < 0;
+    }
+
+    private int[] routeFrom(int gateFloor) {
+        Map<Integer, int[]> routes = routesByFloor;
+        int[] route = routes.get(gateFloor);
+        if (route == null) {
+            route = computeRoute(gateFloor);
+            synchronized (this) {
+                if (routes == routesByFloor) {
+                    Map<Integer, int[]> updated = new HashMap<>(routes);
+                    updated.put(gateFloor, route);
+                    routesByFloor = updated;
+                }
+            }
+        }
+        return route;
+    }
+
+    private int[] computeRoute(int gateFloor) {
+        List<Integer> shardIds = new ArrayList<>(floorsByShard.keySet());
+        shardIds.sort(Comparator.comparingInt((Integer shardId) -> distance(floorsByShard.get(shardId), gateFloor))
+                .thenComparingInt(shardId -> shardId));
+        return shardIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int distance(NavigableSet<Integer> floors, int gateFloor) {
+        Integer above = floors.ceiling(gateFloor);
+        Integer below = floors.floor(gateFloor);
+        int distance = Integer.MAX_VALUE;
+        if (above != null) {
+            distance = above - gateFloor;
+        }
+        if (below != null) {
+            distance = Math.min(distance, gateFloor - below);
+        }
+        return distance;
+    }
+}
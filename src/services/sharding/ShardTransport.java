@@ -0,0 +1,16 @@
+package src.services.sharding;
+
+import src.models.parking.Ticket;
+import src.models.vehicles.Vehicle;
+import src.services.ParkingLotService.ParkingLotStatus;
+import java.util.Optional;
+
+public interface ShardTransport {
+    Optional<Ticket> park(int shardId, Vehicle vehicle, String entryGateId);
+
+    Optional<Ticket> exit(int shardId, String ticketId, String exitGateId);
+
+    Optional<Ticket> exitByPlate(int shardId, String licensePlate, String exitGateId);
+
+    ParkingLotStatus status(int shardId);
+}
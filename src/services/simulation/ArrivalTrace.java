@@ -0,0 +1,197 @@
+package src.services.simulation;
+
+import src.enums.VehicleType;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ArrivalTrace {
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final long MILLIS_PER_HOUR = 3_600_000;
+    private static final long MIN_DWELL_MILLIS = 5 * 60_000;
+    private static final double[] HOURLY_PROFILE = {
+            0.1, 0.05, 0.05, 0.05, 0.1, 0.3, 0.8, 1.8, 2.4, 1.8, 1.2, 1.1,
+            1.4, 1.3, 1.1, 1.1, 1.4, 1.9, 1.7, 1.2, 0.9, 0.6, 0.4, 0.2 };
+    private static final double[] VEHICLE_MIX = { 0.55, 0.15, 0.05, 0.10, 0.15 };
+    private static final double CHARGING_SHARE = 0.5;
+
+    private final long[] arrivalMillis;
+    private final long[] dwellMillis;
+    private final byte[] vehicleTypes;
+    private final boolean[] needsCharging;
+    private final short[] gates;
+    private final String[] gateIds;
+
+    private ArrivalTrace(long[] arrivalMillis, long[] dwellMillis, byte[] vehicleTypes, boolean[] needsCharging,
+            short[] gates, String[] gateIds) {
+        for (int i = 1; i < arrivalMillis.length; i++) {
+            if (arrivalMillis[i] < arrivalMillis[i - 1]) {
+                throw new IllegalArgumentException("Arrivals must be sorted by time, row " + i + " is out of order");
+            }
+        }
+        this.arrivalMillis = arrivalMillis;
+        this.dwellMillis = dwellMillis;
+        this.vehicleTypes = vehicleTypes;
+        this.needsCharging = needsCharging;
+        this.gates = gates;
+        this.gateIds = gateIds;
+    }
+
+    public static ArrivalTrace synthetic(long startMillis, long durationMillis, double arrivalsPerHour,
+            long meanDwellMillis, List<String> entryGateIds, long seed) {
+        if (arrivalsPerHour <= 0 || meanDwellMillis <= 0 || entryGateIds.isEmpty()) {
+            throw new IllegalArgumentException("Synthetic traces need a positive rate, dwell time and entry gates");
+        }
+        Random random = new Random(seed);
+        ZoneId zone = ZoneId.systemDefault();
+        Builder builder = new Builder();
+        long end = startMillis + durationMillis;
+        long now = startMillis;
+        while (true) {
+            int hour = Instant.ofEpochMilli(now).atZone(zone).getHour();
+            double ratePerMilli = arrivalsPerHour * HOURLY_PROFILE[hour] / MILLIS_PER_HOUR;
+            now += (long) (-Math.log(1 - random.nextDouble()) / ratePerMilli);
+            if (now >= end) {
+                break;
+            }
+            VehicleType type = pickVehicleType(random.nextDouble());
+            boolean charging = (type == VehicleType.ELECTRIC_CAR || type == VehicleType.ELECTRIC_BIKE)
+                    && random.nextDouble() < CHARGING_SHARE;
+            long dwell = Math.max(MIN_DWELL_MILLIS, (long) (-Math.log(1 - random.nextDouble()) * meanDwellMillis));
+            String gateId = entryGateIds.get(random.nextInt(entryGateIds.size()));
+            builder.add(now, dwell, type, charging, gateId);
+        }
+        return builder.build();
+    }
+
+    public static ArrivalTrace load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+
+    public static ArrivalTrace parse(List<String> lines) {
+        Builder builder = new Builder();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s*,\\s*");
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Invalid trace row: " + line);
+            }
+            builder.add(Long.parseLong(parts[0]), Long.parseLong(parts[1]), VehicleType.valueOf(parts[2]),
+                    Boolean.parseBoolean(parts[3]), parts[4]);
+        }
+        return builder.build();
+    }
+
+    public void save(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# arrivalEpochMillis,dwellMillis,vehicleType,needsCharging,entryGate\n");
+            for (int i = 0; i < arrivalMillis.length; i++) {
+                writer.write(arrivalMillis[i] + "," + dwellMillis[i] + "," + getVehicleType(i) + ","
+                        + needsCharging[i] + "," + getGateId(i) + "\n");
+            }
+        }
+    }
+
+    public int size() {
+        return arrivalMillis.length;
+    }
+
+    public long getArrivalMillis(int index) {
+        return arrivalMillis[index];
+    }
+
+    public long getDwellMillis(int index) {
+        return dwellMillis[index];
+    }
+
+    public VehicleType getVehicleType(int index) {
+        return VEHICLE_TYPES[vehicleTypes[index]];
+    }
+
+    public boolean needsCharging(int index) {
+        return needsCharging[index];
+    }
+
+    public String getGateId(int index) {
+        return gateIds[gates[index]];
+    }
+
+    public List<String> getGateIds() {
+        return List.of(gateIds);
+    }
+
+    public long getStartMillis() {
+        return arrivalMillis.length > 0 ? arrivalMillis[0] : 0;
+    }
+
+    private static VehicleType pickVehicleType(double pick) {
+        double cumulative = 0;
+        for (int i = 0; i < VEHICLE_MIX.length - 1; i++) {
+            cumulative += VEHICLE_MIX[i];
+            if (pick < cumulative) {
+                return VEHICLE_TYPES[i];
+            }
+        }
+        return VEHICLE_TYPES[VEHICLE_MIX.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ArrivalTrace[%d arrivals] Gates:%s", arrivalMillis.length, Arrays.toString(gateIds));
+    }
+
+    private static class Builder {
+        private final Map<String, Short> gateIndex = new HashMap<>();
+        private final List<String> gateIds = new ArrayList<>();
+        private long[] arrivalMillis = new long[1024];
+        private long[] dwellMillis = new long[1024];
+        private byte[] vehicleTypes = new byte[1024];
+        private boolean[] needsCharging = new boolean[1024];
+        private short[] gates = new short[1024];
+        private int size;
+
+        void add(long arrival, long dwell, VehicleType type, boolean charging, String gateId) {
+            if (dwell < 0) {
+                throw new IllegalArgumentException("Dwell time cannot be negative: " + dwell);
+            }
+            if (size == arrivalMillis.length) {
+                int capacity = size * 2;
+                arrivalMillis = Arrays.copyOf(arrivalMillis, capacity);
+                dwellMillis = Arrays.copyOf(dwellMillis, capacity);
+                vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+                needsCharging = Arrays.copyOf(needsCharging, capacity);
+                gates = Arrays.copyOf(gates, capacity);
+            }
+            Short gate = gateIndex.get(gateId);
+            if (gate == null) {
+                gate = (short) gateIds.size();
+                gateIndex.put(gateId, gate);
+                gateIds.add(gateId);
+            }
+            arrivalMillis[size] = arrival;
+            dwellMillis[size] = dwell;
+            vehicleTypes[size] = (byte) type.ordinal();
+            needsCharging[size] = charging;
+            gates[size] = gate;
+            size++;
+        }
+
+        ArrivalTrace build() {
+            return new ArrivalTrace(Arrays.copyOf(arrivalMillis, size), Arrays.copyOf(dwellMillis, size),
+                    Arrays.copyOf(vehicleTypes, size), Arrays.copyOf(needsCharging, size), Arrays.copyOf(gates, size),
+                    gateIds.toArray(new String[0]));
+        }
+    }
+}
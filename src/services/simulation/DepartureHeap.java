@@ -0,0 +1,73 @@
+package src.services.simulation;
+
+import java.util.Arrays;
+
+class DepartureHeap {
+    private long[] times;
+    private int[] arrivals;
+    private int size;
+
+    DepartureHeap(int initialCapacity) {
+        this.times = new long[Math.max(16, initialCapacity)];
+        this.arrivals = new int[times.length];
+    }
+
+    void add(long timeMillis, int arrival) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            arrivals = Arrays.copyOf(arrivals, size * 2);
+        }
+        int position = size++;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(timeMillis, arrival, times[parent], arrivals[parent])) {
+                break;
+            }
+            times[position] = times[parent];
+            arrivals[position] = arrivals[parent];
+            position = parent;
+        }
+        times[position] = timeMillis;
+        arrivals[position] = arrival;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long peekTime() {
+        return times[0];
+    }
+
+    int poll() {
+        int head = arrivals[0];
+        long lastTime = times[--size];
+        int lastArrival = arrivals[size];
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && before(times[right], arrivals[right], times[child], arrivals[child])) {
+                child = right;
+            }
+            if (!before(times[child], arrivals[child], lastTime, lastArrival)) {
+                break;
+            }
+            times[position] = times[child];
+            arrivals[position] = arrivals[child];
+            position = child;
+        }
+        times[position] = lastTime;
+        arrivals[position] = lastArrival;
+        return head;
+    }
+
+    private static boolean before(long time, int arrival, long otherTime, int otherArrival) {
+        return time < otherTime || (time == otherTime && arrival < otherArrival);
+    }
+}
@@ -0,0 +1,94 @@
+package src.services.simulation;
+
+import src.enums.VehicleType;
+import src.factories.VehicleFactory;
+import src.models.parking.SpotQuery;
+import src.models.parking.Ticket;
+import src.services.ParkingLotService;
+import src.strategies.allocation.SlotAllocationStrategy;
+import src.strategies.pricing.PricingStrategy;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LotSimulator {
+    private static final String OWNER = "Simulation";
+
+    private final Supplier<ParkingLotService> lotFactory;
+    private final String exitGateId;
+
+    public LotSimulator(Supplier<ParkingLotService> lotFactory, String exitGateId) {
+        this.lotFactory = lotFactory;
+        this.exitGateId = exitGateId;
+    }
+
+    public SimulationReport run(ArrivalTrace trace, SlotAllocationStrategy allocationStrategy,
+            PricingStrategy pricingStrategy) {
+        return run(trace, allocationStrategy, service -> pricingStrategy);
+    }
+
+    public SimulationReport run(ArrivalTrace trace, SlotAllocationStrategy allocationStrategy,
+            Function<ParkingLotService, PricingStrategy> pricingFactory) {
+        ParkingLotService service = lotFactory.get();
+        SimulationClock clock = new SimulationClock(trace.getStartMillis());
+        service.setClock(clock);
+        service.setAllocationStrategy(allocationStrategy);
+        PricingStrategy pricingStrategy = pricingFactory.apply(service);
+        service.setPricingStrategy(pricingStrategy);
+
+        int arrivals = trace.size();
+        int capacity = service.countSpots(SpotQuery.all());
+        String[] ticketIds = new String[arrivals];
+        int[] rejectedByType = new int[VehicleType.values().length];
+        DepartureHeap departures = new DepartureHeap(capacity);
+        long startMillis = trace.getStartMillis();
+        long lastMillis = startMillis;
+        double occupiedMillis = 0;
+        double revenue = 0;
+        int parked = 0;
+        int occupied = 0;
+        int peakOccupied = 0;
+        long events = 0;
+        long startNanos = System.nanoTime();
+
+        int next = 0;
+        while (next < arrivals || !departures.isEmpty()) {
+            boolean departure = !departures.isEmpty()
+                    && (next == arrivals || departures.peekTime() <= trace.getArrivalMillis(next));
+            long now = departure ? departures.peekTime() : trace.getArrivalMillis(next);
+            occupiedMillis += (double) occupied * (now - lastMillis);
+            lastMillis = now;
+            clock.setMillis(now);
+            events++;
+
+            if (departure) {
+                int arrival = departures.poll();
+                Optional<Ticket> ticket = service.exitVehicle(ticketIds[arrival], exitGateId);
+                if (ticket.isPresent()) {
+                    revenue += ticket.get().getTotalAmount();
+                    occupied--;
+                }
+                ticketIds[arrival] = null;
+                continue;
+            }
+
+            int arrival = next++;
+            VehicleType type = trace.getVehicleType(arrival);
+            Optional<Ticket> ticket = service.parkVehicle(VehicleFactory.createVehicle(type, "SIM-" + arrival, OWNER,
+                    trace.needsCharging(arrival)), trace.getGateId(arrival));
+            if (ticket.isPresent()) {
+                ticketIds[arrival] = ticket.get().getTicketId();
+                departures.add(now + trace.getDwellMillis(arrival), arrival);
+                parked++;
+                occupied++;
+                peakOccupied = Math.max(peakOccupied, occupied);
+            } else {
+                rejectedByType[type.ordinal()]++;
+            }
+        }
+
+        return new SimulationReport(allocationStrategy.getClass().getSimpleName(),
+                pricingStrategy.getClass().getSimpleName(), arrivals, parked, rejectedByType, revenue, capacity,
+                peakOccupied, occupiedMillis, lastMillis - startMillis, events, System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,56 @@
+package src.services.simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+public class SimulationClock extends Clock {
+    private final ZoneId zone;
+    private volatile long currentMillis;
+
+    public SimulationClock(long startMillis) {
+        this(startMillis, ZoneId.systemDefault());
+    }
+
+    public SimulationClock(long startMillis, ZoneId zone) {
+        this.zone = zone;
+        this.currentMillis = startMillis;
+    }
+
+    public void setMillis(long millis) {
+        if (millis < currentMillis) {
+            throw new IllegalArgumentException("Simulation time cannot move backwards: " + millis + " < "
+                    + currentMillis);
+        }
+        this.currentMillis = millis;
+    }
+
+    public void advance(long deltaMillis) {
+        setMillis(currentMillis + deltaMillis);
+    }
+
+    @Override
+    public long millis() {
+        return currentMillis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(currentMillis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new SimulationClock(currentMillis, zone);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationClock[%s] Zone:%s", instant(), zone);
+    }
+}
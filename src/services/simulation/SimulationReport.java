@@ -0,0 +1,110 @@
+package src.services.simulation;
+
+import src.enums.VehicleType;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class SimulationReport {
+    private final String allocationStrategy;
+    private final String pricingStrategy;
+    private final int arrivals;
+    private final int parked;
+    private final int[] rejectedByType;
+    private final double revenue;
+    private final int capacity;
+    private final int peakOccupied;
+    private final double occupiedMillis;
+    private final long simulatedMillis;
+    private final long events;
+    private final long elapsedNanos;
+
+    SimulationReport(String allocationStrategy, String pricingStrategy, int arrivals, int parked,
+            int[] rejectedByType, double revenue, int capacity, int peakOccupied, double occupiedMillis,
+            long simulatedMillis, long events, long elapsedNanos) {
+        this.allocationStrategy = allocationStrategy;
+        this.pricingStrategy = pricingStrategy;
+        this.arrivals = arrivals;
+        this.parked = parked;
+        this.rejectedByType = rejectedByType;
+        this.revenue = revenue;
+        this.capacity = capacity;
+        this.peakOccupied = peakOccupied;
+        this.occupiedMillis = occupiedMillis;
+        this.simulatedMillis = simulatedMillis;
+        this.events = events;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getAllocationStrategy() {
+        return allocationStrategy;
+    }
+
+    public String getPricingStrategy() {
+        return pricingStrategy;
+    }
+
+    public int getArrivals() {
+        return arrivals;
+    }
+
+    public int getParked() {
+        return parked;
+    }
+
+    public int getRejected() {
+        return arrivals - parked;
+    }
+
+    public double getRejectionRate() {
+        return arrivals > 0 ? (double) getRejected() / arrivals : 0.0;
+    }
+
+    public Map<VehicleType, Integer> getRejectedByVehicleType() {
+        Map<VehicleType, Integer> rejected = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            rejected.put(type, rejectedByType[type.ordinal()]);
+        }
+        return rejected;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getPeakOccupied() {
+        return peakOccupied;
+    }
+
+    public double getAverageUtilization() {
+        return capacity > 0 && simulatedMillis > 0 ? occupiedMillis / ((double) capacity * simulatedMillis) : 0.0;
+    }
+
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getEventsPerSecond() {
+        return elapsedNanos > 0 ? events * 1e9 / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/%s: arrivals %,d, parked %,d, rejected %,d (%.1f%%) %s | utilization %.1f%%, "
+                + "peak %,d/%,d | revenue $%,.2f | %,d events at %,.0f events/s", allocationStrategy,
+                pricingStrategy, arrivals, parked, getRejected(), getRejectionRate() * 100,
+                getRejectedByVehicleType(), getAverageUtilization() * 100, peakOccupied, capacity, revenue, events,
+                getEventsPerSecond());
+    }
+}
@@ -1,22 +1,45 @@
 package src.strategies.allocation;
 
 import src.models.vehicles.Vehicle;
+import src.models.parking.AvailableSpotIndex;
 import src.models.parking.ParkingSpot;
 import src.models.gates.EntryExitGate;
+import src.enums.SpotType;
 import java.util.List;
 import java.util.Optional;
-import java.util.Comparator;
 
 public class NearestAvailableStrategy implements SlotAllocationStrategy {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final SpotType[][] SEARCH_ORDER = { SPOT_TYPES };
 
     @Override
     public Optional<ParkingSpot> findSpot(Vehicle vehicle, List<ParkingSpot> availableSpots, EntryExitGate entryGate) {
-        return availableSpots.stream()
-                .filter(spot -> spot.canAccommodate(vehicle))
-                .sorted(Comparator
-                        .comparingInt((ParkingSpot spot) -> Math.abs(spot.getFloor() - entryGate.getFloor()))
-                        .thenComparing(ParkingSpot::getSpotId))
-                .findFirst();
+        ParkingSpot best = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (ParkingSpot spot : availableSpots) {
+            if (!spot.canAccommodate(vehicle)) {
+                continue;
+            }
+            int distance = Math.abs(spot.getFloor() - entryGate.getFloor());
+            if (best == null || distance < bestDistance
+                    || (distance == bestDistance && spot.getSpotId().compareTo(best.getSpotId()) < 0)) {
+                best = spot;
+                bestDistance = distance;
+            }
+        }
+
+        return Optional.ofNullable(best);
+    }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(Vehicle vehicle, AvailableSpotIndex availableSpots, EntryExitGate entryGate) {
+        return Optional.ofNullable(availableSpots.findNearest(vehicle, entryGate.getFloor(), SPOT_TYPES));
+    }
+
+    @Override
+    public SpotType[][] getSearchOrder(Vehicle vehicle) {
+        return SEARCH_ORDER;
     }
 
     @Override
@@ -1,45 +1,101 @@
 package src.strategies.allocation;
 
 import src.models.vehicles.Vehicle;
-import src.models.vehicles.ElectricCar;
-import src.models.vehicles.ElectricBike;
-import src.models.vehicles.Truck;
+import src.models.parking.AvailableSpotIndex;
 import src.models.parking.ParkingSpot;
 import src.models.gates.EntryExitGate;
 import src.enums.SpotType;
+import src.enums.VehicleType;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Comparator;
 
 public class PreferredSpotTypeStrategy implements SlotAllocationStrategy {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final int[][] PREFERENCE_SCORES = new int[VehicleType.values().length * 2][SPOT_TYPES.length];
+    private static final SpotType[][][] PREFERENCE_GROUPS = new SpotType[PREFERENCE_SCORES.length][][];
+
+    static {
+        for (VehicleType vehicleType : VehicleType.values()) {
+            for (int charging = 0; charging < 2; charging++) {
+                int profile = profileOf(vehicleType, charging == 1);
+                for (SpotType spotType : SPOT_TYPES) {
+                    PREFERENCE_SCORES[profile][spotType.ordinal()] =
+                            computePreferenceScore(vehicleType, charging == 1, spotType);
+                }
+                PREFERENCE_GROUPS[profile] = groupByScore(PREFERENCE_SCORES[profile]);
+            }
+        }
+    }
 
     @Override
     public Optional<ParkingSpot> findSpot(Vehicle vehicle, List<ParkingSpot> availableSpots, EntryExitGate entryGate) {
-        return availableSpots.stream()
-                .filter(spot -> spot.canAccommodate(vehicle))
-                .sorted(Comparator
-                        .comparing((ParkingSpot spot) -> getPreferenceScore(vehicle, spot))
-                        .thenComparingInt(spot -> Math.abs(spot.getFloor() - entryGate.getFloor()))
-                        .thenComparing(ParkingSpot::getSpotId))
-                .findFirst();
+        int[] scores = PREFERENCE_SCORES[profileOf(vehicle.getVehicleType(), vehicle.needsCharging())];
+        ParkingSpot best = null;
+        int bestScore = Integer.MAX_VALUE;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (ParkingSpot spot : availableSpots) {
+            if (!spot.canAccommodate(vehicle)) {
+                continue;
+            }
+            int score = scores[spot.getSpotType().ordinal()];
+            int distance = Math.abs(spot.getFloor() - entryGate.getFloor());
+            if (best == null || score < bestScore
+                    || (score == bestScore && (distance < bestDistance
+                            || (distance == bestDistance && spot.getSpotId().compareTo(best.getSpotId()) < 0)))) {
+                best = spot;
+                bestScore = score;
+                bestDistance = distance;
+            }
+        }
+
+        return Optional.ofNullable(best);
+    }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(Vehicle vehicle, AvailableSpotIndex availableSpots, EntryExitGate entryGate) {
+        SpotType[][] groups = PREFERENCE_GROUPS[profileOf(vehicle.getVehicleType(), vehicle.needsCharging())];
+        for (SpotType[] group : groups) {
+            ParkingSpot spot = availableSpots.findNearest(vehicle, entryGate.getFloor(), group);
+            if (spot != null) {
+                return Optional.of(spot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public SpotType[][] getSearchOrder(Vehicle vehicle) {
+        return PREFERENCE_GROUPS[profileOf(vehicle.getVehicleType(), vehicle.needsCharging())];
     }
 
-    private int getPreferenceScore(Vehicle vehicle, ParkingSpot spot) {
-        SpotType spotType = spot.getSpotType();
+    private static int profileOf(VehicleType vehicleType, boolean needsCharging) {
+        return vehicleType.ordinal() * 2 + (needsCharging ? 1 : 0);
+    }
 
-        if (vehicle instanceof ElectricCar && ((ElectricCar) vehicle).needsCharging()) {
-            return spotType.hasCharging() ? 1 : 5;
+    private static SpotType[][] groupByScore(int[] scores) {
+        int[] distinct = Arrays.stream(scores).distinct().sorted().toArray();
+        SpotType[][] groups = new SpotType[distinct.length][];
+        for (int i = 0; i < distinct.length; i++) {
+            int score = distinct[i];
+            groups[i] = Arrays.stream(SPOT_TYPES)
+                    .filter(spotType -> scores[spotType.ordinal()] == score)
+                    .toArray(SpotType[]::new);
         }
+        return groups;
+    }
 
-        if (vehicle instanceof ElectricBike && ((ElectricBike) vehicle).needsCharging()) {
+    private static int computePreferenceScore(VehicleType vehicleType, boolean needsCharging, SpotType spotType) {
+        if (vehicleType.isElectric() && needsCharging) {
             return spotType.hasCharging() ? 1 : 5;
         }
 
-        if (vehicle instanceof Truck) {
+        if (vehicleType == VehicleType.TRUCK) {
             return spotType.isLarge() ? 1 : 10;
         }
 
-        if (vehicle.getVehicleType().isElectric() && spotType.hasCharging()) {
+        if (vehicleType.isElectric() && spotType.hasCharging()) {
             return 2;
         }
 
@@ -1,6 +1,8 @@
 package src.strategies.allocation;
 
+import src.enums.SpotType;
 import src.models.vehicles.Vehicle;
+import src.models.parking.AvailableSpotIndex;
 import src.models.parking.ParkingSpot;
 import src.models.gates.EntryExitGate;
 import java.util.List;
@@ -9,5 +11,13 @@ import java.util.Optional;
 public interface SlotAllocationStrategy {
     Optional<ParkingSpot> findSpot(Vehicle vehicle, List<ParkingSpot> availableSpots, EntryExitGate entryGate);
 
+    default Optional<ParkingSpot> findSpot(Vehicle vehicle, AvailableSpotIndex availableSpots, EntryExitGate entryGate) {
+        return findSpot(vehicle, availableSpots.getAvailableSpots(), entryGate);
+    }
+
+    default SpotType[][] getSearchOrder(Vehicle vehicle) {
+        return null;
+    }
+
     String getStrategyName();
 }
@@ -0,0 +1,145 @@
+package src.strategies.pricing;
+
+import src.enums.SpotStatus;
+import src.enums.SpotType;
+import src.models.parking.OccupancyCounters;
+import src.models.parking.ParkingSpot;
+import src.models.parking.Ticket;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DynamicPricingStrategy implements PricingStrategy {
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int SPOT_TYPE_COUNT = SpotType.values().length;
+
+    private final PricingTable baseTable;
+    private final OccupancyCounters occupancyCounters;
+    private final ZoneRules zoneRules;
+    private volatile PricingRules rules;
+    private volatile OffsetWindow offsetWindow;
+
+    public DynamicPricingStrategy(OccupancyCounters occupancyCounters, PricingRules rules) {
+        this(HourlyPricingStrategy.PRICING_TABLE, occupancyCounters, rules);
+    }
+
+    public DynamicPricingStrategy(PricingTable baseTable, OccupancyCounters occupancyCounters,
+            PricingRules rules) {
+        this(baseTable, occupancyCounters, rules, ZoneId.systemDefault());
+    }
+
+    public DynamicPricingStrategy(PricingTable baseTable, OccupancyCounters occupancyCounters,
+            PricingRules rules, ZoneId zone) {
+        this.baseTable = baseTable;
+        this.occupancyCounters = occupancyCounters;
+        this.rules = rules;
+        this.zoneRules = zone.getRules();
+        this.offsetWindow = OffsetWindow.at(zoneRules, System.currentTimeMillis());
+    }
+
+    @Override
+    public double calculatePrice(Ticket ticket) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        return price(ticket, rules, getOccupancy(spot.getFloor(), spot.getSpotType()));
+    }
+
+    @Override
+    public double[] calculatePrices(List<Ticket> tickets) {
+        PricingRules current = rules;
+        Map<Integer, Double> occupancyByBucket = new HashMap<>();
+        double[] amounts = new double[tickets.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            Ticket ticket = tickets.get(i);
+            ParkingSpot spot = ticket.getAssignedSpot();
+            double occupancy = occupancyByBucket.computeIfAbsent(
+                    spot.getFloor() * SPOT_TYPE_COUNT + spot.getSpotType().ordinal(),
+                    bucket -> getOccupancy(spot.getFloor(), spot.getSpotType()));
+            amounts[i] = price(ticket, current, occupancy);
+        }
+        return amounts;
+    }
+
+    private double price(Ticket ticket, PricingRules current, double occupancy) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        long hours = PricingTable.billableHours(ticket.getParkingDurationMillis());
+        double basePrice = baseTable.priceForHours(spot.getSpotType(), ticket.getVehicle().getVehicleType(), hours);
+
+        int entryMinute = minuteOfDay(ticket.getEntryEpochMillis());
+        double timeMultiplier = current.averageTimeMultiplier(entryMinute, hours * 60);
+        double occupancyMultiplier = current.occupancyMultiplier(spot.getSpotType(), occupancy);
+
+        return Math.max(baseTable.getMinimumCharge(), basePrice * timeMultiplier * occupancyMultiplier);
+    }
+
+    private int minuteOfDay(long epochMillis) {
+        OffsetWindow window = offsetWindow;
+        if (!window.contains(epochMillis)) {
+            window = OffsetWindow.at(zoneRules, epochMillis);
+            offsetWindow = window;
+        }
+        return (int) Math.floorMod(Math.floorDiv(epochMillis + window.offsetMillis, MILLIS_PER_MINUTE),
+                (long) MINUTES_PER_DAY);
+    }
+
+    public double getOccupancy(int floor, SpotType spotType) {
+        int total = occupancyCounters.total(floor, spotType);
+        if (total == 0) {
+            return 0.0;
+        }
+        int taken = occupancyCounters.count(floor, spotType, SpotStatus.OCCUPIED)
+                + occupancyCounters.count(floor, spotType, SpotStatus.RESERVED);
+        return Math.min(1.0, (double) taken / total);
+    }
+
+    public PricingRules getRules() {
+        return rules;
+    }
+
+    public void setRules(PricingRules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Pricing rules cannot be null");
+        }
+        this.rules = rules;
+    }
+
+    public void reload(Path file) throws IOException {
+        setRules(PricingRules.load(file));
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "Dynamic Pricing Strategy";
+    }
+
+    private static class OffsetWindow {
+        private final long fromMillis;
+        private final long untilMillis;
+        private final long offsetMillis;
+
+        private OffsetWindow(long fromMillis, long untilMillis, long offsetMillis) {
+            this.fromMillis = fromMillis;
+            this.untilMillis = untilMillis;
+            this.offsetMillis = offsetMillis;
+        }
+
+        static OffsetWindow at(ZoneRules zoneRules, long epochMillis) {
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            long offsetMillis = zoneRules.getOffset(instant).getTotalSeconds() * 1000L;
+            ZoneOffsetTransition previous = zoneRules.previousTransition(instant.plusMillis(1));
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            return new OffsetWindow(previous != null ? previous.toEpochSecond() * 1000L : Long.MIN_VALUE,
+                    next != null ? next.toEpochSecond() * 1000L : Long.MAX_VALUE, offsetMillis);
+        }
+
+        boolean contains(long epochMillis) {
+            return epochMillis >= fromMillis && epochMillis < untilMillis;
+        }
+    }
+}
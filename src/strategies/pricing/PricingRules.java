@@ -0,0 +1,156 @@
+package src.strategies.pricing;
+
+import src.enums.SpotType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class PricingRules {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private final double[] minuteMultipliers;
+    private final double[] minutePrefixSums;
+    private final double[][] occupancyThresholds;
+    private final double[][] occupancyMultipliers;
+
+    private PricingRules(double[] minuteMultipliers, double[][] occupancyThresholds,
+            double[][] occupancyMultipliers) {
+        this.minuteMultipliers = minuteMultipliers;
+        this.minutePrefixSums = new double[MINUTES_PER_DAY + 1];
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            minutePrefixSums[minute + 1] = minutePrefixSums[minute] + minuteMultipliers[minute];
+        }
+        this.occupancyThresholds = occupancyThresholds;
+        this.occupancyMultipliers = occupancyMultipliers;
+    }
+
+    public static PricingRules flat() {
+        double[] minutes = new double[MINUTES_PER_DAY];
+        Arrays.fill(minutes, 1.0);
+        double[][] thresholds = new double[SPOT_TYPES.length][0];
+        double[][] multipliers = new double[SPOT_TYPES.length][0];
+        return new PricingRules(minutes, thresholds, multipliers);
+    }
+
+    public PricingRules withTimeWindow(LocalTime start, LocalTime end, double multiplier) {
+        requirePositive(multiplier);
+        double[] minutes = minuteMultipliers.clone();
+        int from = start.getHour() * 60 + start.getMinute();
+        int to = end.getHour() * 60 + end.getMinute();
+        int length = Math.floorMod(to - from, MINUTES_PER_DAY);
+        if (length == 0) {
+            length = MINUTES_PER_DAY;
+        }
+        for (int i = 0; i < length; i++) {
+            minutes[(from + i) % MINUTES_PER_DAY] = multiplier;
+        }
+        return new PricingRules(minutes, occupancyThresholds, occupancyMultipliers);
+    }
+
+    public PricingRules withOccupancyTier(double threshold, double multiplier) {
+        PricingRules rules = this;
+        for (SpotType spotType : SPOT_TYPES) {
+            rules = rules.withOccupancyTier(spotType, threshold, multiplier);
+        }
+        return rules;
+    }
+
+    public PricingRules withOccupancyTier(SpotType spotType, double threshold, double multiplier) {
+        requirePositive(multiplier);
+        if (threshold < 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("Occupancy threshold must be between 0 and 1: " + threshold);
+        }
+        double[][] thresholds = occupancyThresholds.clone();
+        double[][] multipliers = occupancyMultipliers.clone();
+        double[] typeThresholds = thresholds[spotType.ordinal()];
+        double[] typeMultipliers = multipliers[spotType.ordinal()];
+
+        int position = Arrays.binarySearch(typeThresholds, threshold);
+        if (position >= 0) {
+            typeMultipliers = typeMultipliers.clone();
+            typeMultipliers[position] = multiplier;
+        } else {
+            position = -position - 1;
+            typeThresholds = insert(typeThresholds, position, threshold);
+            typeMultipliers = insert(typeMultipliers, position, multiplier);
+        }
+        thresholds[spotType.ordinal()] = typeThresholds;
+        multipliers[spotType.ordinal()] = typeMultipliers;
+        return new PricingRules(minuteMultipliers, thresholds, multipliers);
+    }
+
+    public static PricingRules load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+
+    public static PricingRules parse(List<String> lines) {
+        PricingRules rules = flat();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts[0].equals("window") && parts.length == 4) {
+                rules = rules.withTimeWindow(LocalTime.parse(parts[1]), LocalTime.parse(parts[2]),
+                        Double.parseDouble(parts[3]));
+            } else if (parts[0].equals("occupancy") && parts.length == 3) {
+                rules = rules.withOccupancyTier(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            } else if (parts[0].equals("occupancy") && parts.length == 4) {
+                rules = rules.withOccupancyTier(SpotType.valueOf(parts[1]), Double.parseDouble(parts[2]),
+                        Double.parseDouble(parts[3]));
+            } else {
+                throw new IllegalArgumentException("Invalid pricing rule: " + line);
+            }
+        }
+        return rules;
+    }
+
+    public double timeMultiplier(int minuteOfDay) {
+        return minuteMultipliers[minuteOfDay];
+    }
+
+    public double averageTimeMultiplier(int startMinuteOfDay, long minutes) {
+        if (minutes <= 0) {
+            return minuteMultipliers[startMinuteOfDay];
+        }
+        long fullDays = minutes / MINUTES_PER_DAY;
+        int remainder = (int) (minutes % MINUTES_PER_DAY);
+        double sum = fullDays * minutePrefixSums[MINUTES_PER_DAY];
+        int end = startMinuteOfDay + remainder;
+        if (end <= MINUTES_PER_DAY) {
+            sum += minutePrefixSums[end] - minutePrefixSums[startMinuteOfDay];
+        } else {
+            sum += minutePrefixSums[MINUTES_PER_DAY] - minutePrefixSums[startMinuteOfDay]
+                    + minutePrefixSums[end - MINUTES_PER_DAY];
+        }
+        return sum / minutes;
+    }
+
+    public double occupancyMultiplier(SpotType spotType, double occupancy) {
+        double[] thresholds = occupancyThresholds[spotType.ordinal()];
+        double multiplier = 1.0;
+        for (int i = 0; i < thresholds.length && occupancy >= thresholds[i]; i++) {
+            multiplier = occupancyMultipliers[spotType.ordinal()][i];
+        }
+        return multiplier;
+    }
+
+    private static double[] insert(double[] values, int position, double value) {
+        double[] result = new double[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static void requirePositive(double multiplier) {
+        if (!(multiplier > 0.0)) {
+            throw new IllegalArgumentException("Multiplier must be positive: " + multiplier);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package src.strategies.pricing;
 
 import src.models.parking.Ticket;
+import java.util.List;
 
 public interface PricingStrategy {
     double calculatePrice(Ticket ticket);
 
+    default double[] calculatePrices(List<Ticket> tickets) {
+        double[] amounts = new double[tickets.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = calculatePrice(tickets.get(i));
+        }
+        return amounts;
+    }
+
     String getStrategyName();
 }
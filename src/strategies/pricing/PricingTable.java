@@ -0,0 +1,79 @@
+package src.strategies.pricing;
+
+import src.enums.SpotType;
+import src.enums.VehicleType;
+
+public class PricingTable {
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final double baseHourlyRate;
+    private final double chargingRatePerHour;
+    private final double minimumCharge;
+    private final int tabulatedHours;
+    private final double[] spotMultipliers;
+    private final boolean[] chargingApplies;
+    private final double[] prices;
+
+    public PricingTable(double baseHourlyRate, double chargingRatePerHour, double minimumCharge,
+            int tabulatedHours) {
+        if (tabulatedHours < 1) {
+            throw new IllegalArgumentException("Tabulated hours must be positive: " + tabulatedHours);
+        }
+        this.baseHourlyRate = baseHourlyRate;
+        this.chargingRatePerHour = chargingRatePerHour;
+        this.minimumCharge = minimumCharge;
+        this.tabulatedHours = tabulatedHours;
+        this.spotMultipliers = new double[SPOT_TYPES.length];
+        this.chargingApplies = new boolean[SPOT_TYPES.length * VEHICLE_TYPES.length];
+        this.prices = new double[SPOT_TYPES.length * VEHICLE_TYPES.length * (tabulatedHours + 1)];
+
+        for (SpotType spotType : SPOT_TYPES) {
+            spotMultipliers[spotType.ordinal()] = spotType.getPriceMultiplier();
+            for (VehicleType vehicleType : VEHICLE_TYPES) {
+                int cell = cell(spotType.ordinal(), vehicleType.ordinal());
+                chargingApplies[cell] = vehicleType.isElectric() && spotType.hasCharging();
+                for (int hours = 1; hours <= tabulatedHours; hours++) {
+                    prices[cell * (tabulatedHours + 1) + hours] = compute(spotType.ordinal(), cell, hours);
+                }
+            }
+        }
+    }
+
+    public double price(SpotType spotType, VehicleType vehicleType, long durationMillis) {
+        return priceForHours(spotType, vehicleType, billableHours(durationMillis));
+    }
+
+    public double priceForHours(SpotType spotType, VehicleType vehicleType, long hours) {
+        int cell = cell(spotType.ordinal(), vehicleType.ordinal());
+        if (hours >= 1 && hours <= tabulatedHours) {
+            return prices[cell * (tabulatedHours + 1) + (int) hours];
+        }
+        return compute(spotType.ordinal(), cell, Math.max(1, hours));
+    }
+
+    public static long billableHours(long durationMillis) {
+        long minutes = durationMillis / MILLIS_PER_MINUTE;
+        return minutes <= 60 ? 1 : (minutes + 59) / 60;
+    }
+
+    public double getMinimumCharge() {
+        return minimumCharge;
+    }
+
+    public int getTabulatedHours() {
+        return tabulatedHours;
+    }
+
+    private double compute(int spotType, int cell, long hours) {
+        double billedHours = hours;
+        double spotPrice = baseHourlyRate * billedHours * spotMultipliers[spotType];
+        double chargingFee = chargingApplies[cell] ? chargingRatePerHour * billedHours : 0.0;
+        return Math.max(minimumCharge, spotPrice + chargingFee);
+    }
+
+    private static int cell(int spotType, int vehicleType) {
+        return spotType * VEHICLE_TYPES.length + vehicleType;
+    }
+}
@@ -0,0 +1,105 @@
+package src.strategies.ticketing;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MonotonicTicketIdGenerator implements TicketIdGenerator {
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final int SEQUENCE_BITS = 53;
+    private static final int COUNTER_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+    private static final long MAX_EPOCH_OFFSET_MILLIS = SEQUENCE_MASK >>> COUNTER_BITS;
+    public static final Instant LAST_SEED_INSTANT = EPOCH.plusMillis(MAX_EPOCH_OFFSET_MILLIS);
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final MonotonicTicketIdGenerator DEFAULT =
+            new MonotonicTicketIdGenerator(Integer.getInteger("parking.nodeId", 0));
+
+    private final int nodeId;
+    private final long nodePrefix;
+    private final AtomicLong sequence;
+
+    public MonotonicTicketIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodePrefix = (long) nodeId << SEQUENCE_BITS;
+        this.sequence = new AtomicLong(seedFor(System.currentTimeMillis()));
+    }
+
+    private static long seedFor(long epochMillis) {
+        long offset = epochMillis - EPOCH_MILLIS;
+        if (offset < 0 || offset > MAX_EPOCH_OFFSET_MILLIS) {
+            throw new IllegalStateException("Clock " + Instant.ofEpochMilli(epochMillis)
+                    + " is outside the ticket id range " + EPOCH + " to " + LAST_SEED_INSTANT);
+        }
+        return offset << COUNTER_BITS;
+    }
+
+    public static MonotonicTicketIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    @Override
+    public String nextId() {
+        long next = sequence.incrementAndGet();
+        if (next > SEQUENCE_MASK) {
+            throw new IllegalStateException("Ticket id sequence exhausted for node " + nodeId);
+        }
+        return encode(nodePrefix | next);
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long decode(String ticketId) {
+        if (ticketId.length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Not a monotonic ticket id: " + ticketId);
+        }
+        long id = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int digit = digitOf(ticketId.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a monotonic ticket id: " + ticketId);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+
+    public static int nodeOf(String ticketId) {
+        return (int) (decode(ticketId) >>> SEQUENCE_BITS);
+    }
+
+    public static Instant seedInstantOf(String ticketId) {
+        return EPOCH.plusMillis((decode(ticketId) & SEQUENCE_MASK) >>> COUNTER_BITS);
+    }
+
+    private static int digitOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "Monotonic Ticket Id Generator";
+    }
+}
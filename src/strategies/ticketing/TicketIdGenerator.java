@@ -0,0 +1,7 @@
+package src.strategies.ticketing;
+
+public interface TicketIdGenerator {
+    String nextId();
+
+    String getStrategyName();
+}